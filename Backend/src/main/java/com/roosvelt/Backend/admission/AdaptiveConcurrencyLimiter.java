@@ -0,0 +1,92 @@
+package com.roosvelt.Backend.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Concurrency limit that follows latency (gradient limiter): per window of samples, the average latency
+// is compared with a slow moving baseline. While they match the limit grows by ~sqrt(limit); when the
+// database slows down and latency rises above tolerance x baseline, the limit shrinks in proportion
+// (smoothed over a few windows), so excess requests are turned away instead of queueing on the pool.
+// Lower priorities only get a share of the limit and are rejected first.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int BASELINE_WINDOWS = 30;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private volatile double limit;
+
+    private double baselineNanos;
+    private long windowSumNanos;
+    private int windowCount;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int windowSize) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+    }
+
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // latencyNanos < 0: released without a sample (long-running or streamed responses)
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        if (latencyNanos >= 0) {
+            sample(latencyNanos, current);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long latencyNanos, int inFlightAtRelease) {
+        windowSumNanos += latencyNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+        if (++windowCount < windowSize) {
+            return;
+        }
+        double average = (double) windowSumNanos / windowCount;
+        int maxInFlight = windowMaxInFlight;
+        windowSumNanos = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+
+        if (baselineNanos == 0) {
+            baselineNanos = average;
+            return;
+        }
+        baselineNanos += (average - baselineNanos) / BASELINE_WINDOWS;
+        // After a long slow period the baseline has crept up: let it come back down quickly
+        if (baselineNanos > 2 * average) {
+            baselineNanos *= 0.95;
+        }
+        // Far below the limit, latency says nothing about it: don't grow it without bound
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / average));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
@@ -0,0 +1,195 @@
+package com.roosvelt.Backend.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roosvelt.Backend.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Admission control for /api: a per-client rate limit (429), then an adaptive concurrency limit (503),
+// both answered immediately with Retry-After instead of letting the request wait for a pool connection.
+// Runs right after RequestLogFilter so rejected requests are still logged. The order event stream is
+// long-lived and not database bound, so it is left out.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    @Value("${admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${admission.client.enabled:true}")
+    private boolean clientLimitEnabled;
+
+    @Value("${admission.client.rate-per-second:20}")
+    private double clientRate;
+
+    @Value("${admission.client.burst:40}")
+    private double clientBurst;
+
+    @Value("${admission.client.table-size:65536}")
+    private int tableSize;
+
+    // Client address header set by the reverse proxy (e.g. X-Forwarded-For); empty = the socket address
+    @Value("${admission.client.header:}")
+    private String clientHeader;
+
+    // Proxies in front of the app that append to that header; entries left of theirs come from the client
+    @Value("${admission.client.trusted-proxies:1}")
+    private int trustedProxies;
+
+    @Value("${admission.limit.initial:20}")
+    private int initialLimit;
+
+    @Value("${admission.limit.min:4}")
+    private int minLimit;
+
+    @Value("${admission.limit.max:200}")
+    private int maxLimit;
+
+    @Value("${admission.limit.window-size:50}")
+    private int windowSize;
+
+    @Value("${admission.limit.admin-share:0.5}")
+    private double adminShare;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TokenBucketTable clientBuckets;
+    private AdaptiveConcurrencyLimiter limiter;
+    private final Map<RequestPriority, Counter> rateLimited = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> shed = new EnumMap<>(RequestPriority.class);
+
+    @PostConstruct
+    public void initialize() {
+        clientBuckets = new TokenBucketTable(tableSize, clientRate, clientBurst, System::currentTimeMillis);
+        limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, windowSize);
+        Gauge.builder("admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("admission.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight).register(meterRegistry);
+        for (RequestPriority priority : RequestPriority.values()) {
+            rateLimited.put(priority, rejections("rate_limit", priority));
+            shed.put(priority, rejections("concurrency", priority));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !path.startsWith("/api/") || path.equals("/api/orders/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestPriority priority = RequestPriority.of(request);
+        long waitMillis = clientLimitEnabled ? clientBuckets.tryAcquire(clientKey(request)) : 0;
+        if (waitMillis > 0) {
+            rateLimited.get(priority).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, (waitMillis + 999) / 1000,
+                    "Trop de requêtes, réessayez dans quelques instants");
+            return;
+        }
+        if (!limiter.tryAcquire(priority == RequestPriority.ADMIN ? adminShare : 1.0)) {
+            shed.get(priority).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Service surchargé, réessayez dans quelques instants");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                // Uploads and exports: keep the slot until the response completes, but their duration says
+                // nothing about database latency
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        limiter.release(-1);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        if (!clientHeader.isEmpty()) {
+            String forwarded = forwardedAddress(request.getHeader(clientHeader), trustedProxies);
+            if (forwarded != null) {
+                return forwarded;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    // Each proxy appends the address it received the request from, so the entry added by the outermost
+    // trusted proxy is the Nth from the right; anything further left can be forged by the client
+    static String forwardedAddress(String header, int trustedProxies) {
+        if (header == null || header.isBlank() || trustedProxies < 1) {
+            return null;
+        }
+        String[] hops = header.split(",");
+        if (hops.length < trustedProxies) {
+            return null;
+        }
+        String address = hops[hops.length - trustedProxies].trim();
+        return address.isEmpty() ? null : address;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(),
+                new GlobalExceptionHandler.ErrorResponse(status.value(), message, LocalDateTime.now()));
+    }
+
+    private Counter rejections(String reason, RequestPriority priority) {
+        return Counter.builder("admission.rejected")
+                .tag("reason", reason)
+                .tag("priority", priority.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.roosvelt.Backend.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Which share of the concurrency limit a request may use: shoppers first, back-office work when there is room
+public enum RequestPriority {
+
+    // Catalogue and image reads
+    CATALOG,
+    // A shopper's own order: checkout and order lookup
+    CHECKOUT,
+    // Catalogue writes, uploads, order administration and exports
+    ADMIN;
+
+    public static RequestPriority of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if (path.startsWith("/api/orders")) {
+            if ("POST".equals(method) && path.equals("/api/orders")) {
+                return CHECKOUT;
+            }
+            // Listing every order and exporting are back-office screens
+            if (read && !path.equals("/api/orders") && !path.startsWith("/api/orders/export")) {
+                return CHECKOUT;
+            }
+            return ADMIN;
+        }
+        return read ? CATALOG : ADMIN;
+    }
+}
@@ -0,0 +1,67 @@
+package com.roosvelt.Backend.admission;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// Per-client token buckets in a fixed table of atomic longs: no lock, no allocation per client, bounded memory.
+// A slot packs the last refill time (upper bits, ms) and the tokens left (lower 22 bits, in thousandths),
+// so taking a token is a single CAS. Clients hashing to the same slot share a bucket; with enough slots
+// that only happens under a flood of distinct addresses, and sharing then errs on the side of throttling.
+public class TokenBucketTable {
+
+    private static final int TOKEN_BITS = 22;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1000;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final long ratePerSecond;
+    private final long capacity;
+    private final LongSupplier clock;
+    private final long epoch;
+
+    public TokenBucketTable(int size, double ratePerSecond, double burst, LongSupplier clock) {
+        if (ratePerSecond <= 0 || burst < 1 || burst * ONE_TOKEN > TOKEN_MASK) {
+            throw new IllegalArgumentException("rate must be > 0 and burst between 1 and " + TOKEN_MASK / ONE_TOKEN);
+        }
+        int tableSize = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+        this.slots = new AtomicLongArray(tableSize);
+        this.mask = tableSize - 1;
+        this.ratePerSecond = Math.round(ratePerSecond * ONE_TOKEN);
+        this.capacity = Math.round(burst * ONE_TOKEN);
+        this.clock = clock;
+        // Timestamps are stored relative to this, starting at 1 so that 0 means "slot never used"
+        this.epoch = clock.getAsLong() - 1;
+    }
+
+    // Takes one token: returns 0 when allowed, otherwise the milliseconds until a token is available
+    public long tryAcquire(String client) {
+        int index = spread(client.hashCode()) & mask;
+        while (true) {
+            long state = slots.get(index);
+            long now = clock.getAsLong() - epoch;
+            long last = now;
+            long tokens = capacity;
+            if (state != 0) {
+                last = state >>> TOKEN_BITS;
+                tokens = state & TOKEN_MASK;
+                long refill = Math.max(0, now - last) * ratePerSecond / 1000;
+                // Keep the old timestamp until at least a thousandth of a token has accrued, so slow rates still refill
+                if (refill > 0) {
+                    tokens = Math.min(capacity, tokens + refill);
+                    last = now;
+                }
+            }
+            if (tokens < ONE_TOKEN) {
+                return Math.max(1, ((ONE_TOKEN - tokens) * 1000 + ratePerSecond - 1) / ratePerSecond);
+            }
+            if (slots.compareAndSet(index, state, (last << TOKEN_BITS) | (tokens - ONE_TOKEN))) {
+                return 0;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16) ^ (hash >>> 8);
+    }
+}
@@ -0,0 +1,58 @@
+package com.roosvelt.Backend.config;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+// Virtual-thread counterpart of a fixed pool with a bounded queue: at most `concurrency` tasks run,
+// at most `queueCapacity` more wait (parked, without holding a platform thread), the rest is rejected.
+// Requires Java 21 at runtime.
+public class BoundedVirtualThreadExecutor implements Executor {
+
+    private final VirtualThreadTaskExecutor delegate;
+    private final Semaphore admitted;
+    private final Semaphore running;
+    private final int admissionLimit;
+    private final int concurrency;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int concurrency, int queueCapacity) {
+        this.delegate = new VirtualThreadTaskExecutor(threadNamePrefix);
+        this.admissionLimit = concurrency + queueCapacity;
+        this.concurrency = concurrency;
+        this.admitted = new Semaphore(admissionLimit);
+        this.running = new Semaphore(concurrency);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!admitted.tryAcquire()) {
+            throw new RejectedExecutionException("Executor is at capacity (" + admissionLimit + " tasks)");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    running.acquire();
+                    try {
+                        task.run();
+                    } finally {
+                        running.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    admitted.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            admitted.release();
+            throw e;
+        }
+    }
+
+    public int getQueued() {
+        int waiting = (admissionLimit - admitted.availablePermits()) - (concurrency - running.availablePermits());
+        return Math.max(0, waiting);
+    }
+}
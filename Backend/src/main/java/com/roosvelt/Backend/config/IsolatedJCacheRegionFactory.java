@@ -0,0 +1,28 @@
+package com.roosvelt.Backend.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hibernate's JCache region factory with a cache manager of its own per SessionFactory. The caching provider
+// keeps one manager per URI for the whole JVM and Hibernate closes it with its SessionFactory, so a second
+// application context in the same JVM (tests) would lose its regions when the first one closes. The fragment
+// makes the URI unique; Caffeine still reads the configuration from the classpath resource before it.
+public class IsolatedJCacheRegionFactory extends JCacheRegionFactory {
+
+    private static final AtomicLong sessionFactories = new AtomicLong();
+
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+        // Fails if the configured resource is missing
+        if (super.getUri(settings, properties) == null) {
+            return null;
+        }
+        Object resource = properties.get(ConfigSettings.CONFIG_URI);
+        return URI.create("classpath:" + resource + "#session-factory-" + sessionFactories.incrementAndGet());
+    }
+}
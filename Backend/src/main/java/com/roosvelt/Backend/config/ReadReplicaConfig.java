@@ -0,0 +1,135 @@
+package com.roosvelt.Backend.config;
+
+import com.roosvelt.Backend.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read/write split: @Transactional(readOnly = true) goes to the replicas, everything else to the primary.
+// Enabled with DATASOURCE_REPLICAS_ENABLED=true and DATASOURCE_REPLICA_URLS (comma separated);
+// otherwise the single Boot datasource is used.
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replicas.username}")
+    private String replicaUsername;
+
+    @Value("${datasource.replicas.password}")
+    private String replicaPassword;
+
+    @Value("${datasource.replicas.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${datasource.replicas.max-lag-ms:1000}")
+    private long maxLagMs;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        List<String> urls = replicaUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (urls.isEmpty()) {
+            // Nothing to route read-only transactions to: refuse to start rather than fail every one of them
+            throw new IllegalStateException("datasource.replicas.enabled=true but DATASOURCE_REPLICA_URLS is empty");
+        }
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i));
+            replica.setDriverClassName(properties.getDriverClassName());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            // Fail fast so a dead replica falls back to the primary instead of stalling the request
+            replica.setConnectionTimeout(1000);
+            replica.setInitializationFailTimeout(-1);
+            // Not beans, so Boot does not bind their pool metrics: same hikaricp.* meters, tagged pool=replica-N
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            ReplicaRoutingDataSource.Replica entry = new ReplicaRoutingDataSource.Replica(replica.getPoolName(), replica);
+            Gauge.builder("datasource.replica.healthy", entry, r -> r.isHealthy() ? 1 : 0)
+                    .tag("pool", entry.getName())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", entry, ReplicaRoutingDataSource.Replica::getLagMs)
+                    .tag("pool", entry.getName())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            replicas.add(entry);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagMs);
+    }
+
+    // The connection is only fetched on the first statement, once Spring has marked the
+    // transaction read-only, so that flag can pick between the primary and the replicas
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+
+    // Spring's default keeps the connection for the whole request under open-in-view, which would send
+    // every transaction of a request to wherever the first one went; release it after each transaction
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReplicaHealthCheck replicaHealthCheck(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthCheck(replicaRoutingDataSource);
+    }
+
+    public static class ReplicaHealthCheck implements AutoCloseable {
+
+        private final ReplicaRoutingDataSource routingDataSource;
+
+        ReplicaHealthCheck(ReplicaRoutingDataSource routingDataSource) {
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:2000}")
+        public void check() {
+            routingDataSource.checkReplicas();
+        }
+
+        @Override
+        public void close() {
+            for (ReplicaRoutingDataSource.Replica replica : routingDataSource.getReplicas()) {
+                ((HikariDataSource) replica.getDataSource()).close();
+            }
+        }
+    }
+}
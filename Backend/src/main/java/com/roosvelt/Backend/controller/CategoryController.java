@@ -1,6 +1,7 @@
 package com.roosvelt.Backend.controller;
 
 import com.roosvelt.Backend.entity.Category;
+import com.roosvelt.Backend.monitoring.StatementBudget;
 import com.roosvelt.Backend.service.CategoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +17,7 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @StatementBudget(2)
     @GetMapping
     public ResponseEntity<List<Category>> getAllCategories() {
         List<Category> categories = categoryService.getAllCategories();
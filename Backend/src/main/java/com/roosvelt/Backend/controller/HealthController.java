@@ -1,40 +1,44 @@
 package com.roosvelt.Backend.controller;
 
+import com.roosvelt.Backend.monitoring.HealthMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.sql.DataSource;
-import java.sql.Connection;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+// Les sondes lisent l'état calculé en arrière-plan par HealthMonitor : aucune connexion empruntée ici
 @RestController
 public class HealthController {
 
     @Autowired
-    private DataSource dataSource;
+    private HealthMonitor healthMonitor;
+
+    // Liveness : le processus répond, rien d'autre (un pod occupé ne doit pas être redémarré)
+    @GetMapping("/health/live")
+    public ResponseEntity<Map<String, Object>> live() {
+        return ResponseEntity.ok(Map.of("status", "UP"));
+    }
+
+    // Readiness : base, saturation du pool et stockage d'images, depuis le dernier contrôle
+    @GetMapping("/health/ready")
+    public ResponseEntity<Map<String, Object>> ready() {
+        Map<String, Object> status = healthMonitor.getStatus();
+        return ResponseEntity.status(healthMonitor.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(status);
+    }
 
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
-        Map<String, Object> response = new HashMap<>();
+        Map<String, Object> response = new HashMap<>(healthMonitor.getStatus());
         response.put("timestamp", LocalDateTime.now());
         response.put("service", "backend-api");
 
-
-        response.put("status", "UP");
-
-
-        Map<String, Object> dbStatus = checkDatabaseHealth();
-        response.put("database", dbStatus);
-
-        
-        boolean isHealthy = "UP".equals(dbStatus.get("status"));
-
-        if (isHealthy) {
+        if (healthMonitor.isReady()) {
             response.put("overall", "HEALTHY");
             return ResponseEntity.ok(response);
         } else {
@@ -42,23 +46,4 @@ public class HealthController {
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         }
     }
-
-    private Map<String, Object> checkDatabaseHealth() {
-        Map<String, Object> dbHealth = new HashMap<>();
-
-        try (Connection connection = dataSource.getConnection()) {
-            if (connection.isValid(5)) {
-                dbHealth.put("status", "UP");
-                dbHealth.put("database", connection.getMetaData().getDatabaseProductName());
-            } else {
-                dbHealth.put("status", "DOWN");
-                dbHealth.put("error", "Database connection invalid");
-            }
-        } catch (Exception e) {
-            dbHealth.put("status", "DOWN");
-            dbHealth.put("error", e.getMessage());
-        }
-
-        return dbHealth;
-    }
 }
@@ -1,126 +1,166 @@
 package com.roosvelt.Backend.controller;
 
+import com.roosvelt.Backend.dto.UploadedImage;
+import com.roosvelt.Backend.service.ImageLibraryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import io.imagekit.sdk.ImageKit;
-import io.imagekit.sdk.config.Configuration;
-import io.imagekit.sdk.models.FileCreateRequest;
-import io.imagekit.sdk.models.results.Result;
-import io.imagekit.sdk.exceptions.BadRequestException;
-import io.imagekit.sdk.exceptions.UnknownException;
-
-import jakarta.annotation.PostConstruct;
-
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RestController
 @RequestMapping("/api")
 public class ImageUploadController {
 
-    @Value("${imagekit.public.key}")
-    private String imagekitPublicKey;
-
-    @Value("${imagekit.private.key}")
-    private String imagekitPrivateKey;
-
-    @Value("${imagekit.url.endpoint}")
-    private String imagekitUrlEndpoint;
+    private static final Logger log = LoggerFactory.getLogger(ImageUploadController.class);
 
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("jpg", "jpeg", "png", "gif", "webp");
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
+    private static final int UPLOAD_RETRY_AFTER_SECONDS = 2;
 
-    private ImageKit imageKit;
+    @Value("${images.upload.batch-concurrency:4}")
+    private int batchConcurrency;
 
-    @PostConstruct
-    public void initializeImageKit() {
-        try {
-            System.out.println("=== ImageKit Configuration ===");
-            System.out.println("Public Key: " + imagekitPublicKey);
-            System.out.println("Private Key: " + (imagekitPrivateKey != null ? "***PROVIDED***" : "NULL"));
-            System.out.println("URL Endpoint: " + imagekitUrlEndpoint);
+    @Value("${images.upload.batch-max-files:10}")
+    private int batchMaxFiles;
 
-            // ✅ CORRECT: Cette méthode existe dans le SDK
-            this.imageKit = ImageKit.getInstance();
-            Configuration config = new Configuration(imagekitPublicKey, imagekitPrivateKey, imagekitUrlEndpoint);
-            imageKit.setConfig(config);
+    @Autowired
+    private ImageLibraryService imageLibraryService;
 
-            System.out.println("✅ ImageKit initialized successfully");
-        } catch (Exception e) {
-            System.err.println("❌ Error initializing ImageKit: " + e.getMessage());
-            e.printStackTrace();
-        }
+    @PostMapping("/upload-image")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> uploadImage(@RequestParam("image") MultipartFile file) {
+        return processUpload(file);
     }
 
-    @PostMapping("/upload-image")
-    public ResponseEntity<?> uploadImage(@RequestParam("image") MultipartFile file) {
-        try {
-            if (file.isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(createErrorResponse("Aucun fichier sélectionné"));
-            }
+    // Plusieurs images en une requête : résultats dans l'ordre des fichiers, un échec n'annule pas les autres
+    @PostMapping("/upload-images")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> uploadImages(@RequestParam("images") List<MultipartFile> files) {
+        if (files.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(createErrorResponse("Aucun fichier sélectionné")));
+        }
+        if (files.size() > batchMaxFiles) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(createErrorResponse("Maximum " + batchMaxFiles + " images par envoi")));
+        }
 
-            if (file.getSize() > MAX_FILE_SIZE) {
-                return ResponseEntity.badRequest()
-                        .body(createErrorResponse("La taille du fichier ne doit pas dépasser 5MB"));
-            }
+        // Sliding window: a batch never holds more than batchConcurrency uploads, so it cannot fill the shared pool
+        List<Map<String, Object>> results = new ArrayList<>(Collections.nCopies(files.size(), null));
+        AtomicInteger next = new AtomicInteger();
+        CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(batchConcurrency, files.size())];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = uploadNext(files, results, next);
+        }
 
-            String originalFileName = file.getOriginalFilename();
-            if (originalFileName == null || originalFileName.isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(createErrorResponse("Nom de fichier invalide"));
-            }
+        return CompletableFuture.allOf(lanes).thenApply(ignored -> {
+            long uploaded = results.stream().filter(result -> Boolean.TRUE.equals(result.get("success"))).count();
+            Map<String, Object> responseMap = new HashMap<>();
+            responseMap.put("success", uploaded == results.size());
+            responseMap.put("uploaded", uploaded);
+            responseMap.put("failed", results.size() - uploaded);
+            responseMap.put("results", results);
+            return ResponseEntity.ok(responseMap);
+        });
+    }
 
-            String fileExtension = getFileExtension(originalFileName).toLowerCase();
-            if (!ALLOWED_EXTENSIONS.contains(fileExtension)) {
-                return ResponseEntity.badRequest()
-                        .body(createErrorResponse("Type de fichier non supporté. Utilisez: " + String.join(", ", ALLOWED_EXTENSIONS)));
-            }
+    private CompletableFuture<Void> uploadNext(List<MultipartFile> files, List<Map<String, Object>> results, AtomicInteger next) {
+        int index = next.getAndIncrement();
+        if (index >= files.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return processUpload(files.get(index))
+                .thenAccept(response -> {
+                    Map<String, Object> result = new HashMap<>(response.getBody());
+                    result.put("index", index);
+                    synchronized (results) {
+                        results.set(index, result);
+                    }
+                })
+                .thenCompose(ignored -> uploadNext(files, results, next));
+    }
 
-            String uniqueFileName = UUID.randomUUID().toString() + "_" + originalFileName;
+    // Validates and uploads one file; never completes exceptionally, failures are described in the response
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> processUpload(MultipartFile file) {
+        if (file.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(createErrorResponse("Aucun fichier sélectionné")));
+        }
 
-            FileCreateRequest fileCreateRequest = new FileCreateRequest(file.getBytes(), uniqueFileName);
-            fileCreateRequest.setFolder("/");
-            fileCreateRequest.setUseUniqueFileName(false);
+        if (file.getSize() > MAX_FILE_SIZE) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(createErrorResponse("La taille du fichier ne doit pas dépasser 5MB")));
+        }
 
-            Result result = imageKit.upload(fileCreateRequest);
+        String originalFileName = file.getOriginalFilename();
+        if (originalFileName == null || originalFileName.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(createErrorResponse("Nom de fichier invalide")));
+        }
 
-            if (result != null) {
-                Map<String, Object> responseMap = new HashMap<>();
-                responseMap.put("success", true);
-                responseMap.put("imagePath", result.getUrl());
-                responseMap.put("fileId", result.getFileId());
-                responseMap.put("fileName", originalFileName);
-                responseMap.put("size", file.getSize());
-                responseMap.put("height", result.getHeight());
-                responseMap.put("width", result.getWidth());
+        String fileExtension = getFileExtension(originalFileName).toLowerCase();
+        if (!ALLOWED_EXTENSIONS.contains(fileExtension)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(createErrorResponse("Type de fichier non supporté. Utilisez: " + String.join(", ", ALLOWED_EXTENSIONS))));
+        }
 
-                return ResponseEntity.ok(responseMap);
-            } else {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(createErrorResponse("Erreur lors de l'upload sur ImageKit"));
-            }
+        // Hashing and the upload run on the bounded upload pool; the request thread is released meanwhile
+        CompletableFuture<UploadedImage> upload;
+        try {
+            upload = imageLibraryService.upload(file, fileExtension);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(uploadsBusyResponse());
+        }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+        return upload.thenApply(image -> {
+            Map<String, Object> responseMap = new HashMap<>();
+            responseMap.put("success", true);
+            responseMap.put("imagePath", image.getUrl());
+            responseMap.put("fileId", image.getFileId());
+            responseMap.put("fileName", originalFileName);
+            responseMap.put("size", file.getSize());
+            responseMap.put("height", image.getHeight());
+            responseMap.put("width", image.getWidth());
+            responseMap.put("variants", image.getVariants());
+            responseMap.put("deduplicated", image.isDeduplicated());
+
+            return ResponseEntity.ok(responseMap);
+        }).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RejectedExecutionException) {
+                return uploadsBusyResponse();
+            }
+            log.error("Image upload of {} failed", originalFileName, cause);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("Erreur lors de l'upload: " + e.getMessage()));
-        }
+                    .body(createErrorResponse("Erreur lors de l'upload: " + cause.getMessage()));
+        });
+    }
+
+    private ResponseEntity<Map<String, Object>> uploadsBusyResponse() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(UPLOAD_RETRY_AFTER_SECONDS))
+                .body(createErrorResponse("Trop d'uploads en cours, réessayez dans un instant"));
     }
 
     @DeleteMapping("/delete-image")
     public ResponseEntity<?> deleteImage(@RequestParam("fileId") String fileId) {
         try {
-            Result result = imageKit.deleteFile(fileId);
-
-            if (result != null) {
+            // Shared images are only removed from storage with their last reference
+            if (imageLibraryService.release(fileId)) {
                 return ResponseEntity.ok(Map.of("success", true, "message", "Image supprimée avec succès"));
             } else {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -128,7 +168,7 @@ public class ImageUploadController {
             }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Image delete of {} failed", fileId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Erreur lors de la suppression: " + e.getMessage()));
         }
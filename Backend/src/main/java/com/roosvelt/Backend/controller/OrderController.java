@@ -3,14 +3,27 @@ package com.roosvelt.Backend.controller;
 import com.roosvelt.Backend.dto.CreateOrderRequest;
 import com.roosvelt.Backend.dto.OrderResponse;
 import com.roosvelt.Backend.entity.Order;
+import com.roosvelt.Backend.exception.BadRequestException;
+import com.roosvelt.Backend.export.ExportFormat;
+import com.roosvelt.Backend.fields.FieldSelector;
+import com.roosvelt.Backend.fields.OrderField;
+import com.roosvelt.Backend.monitoring.StatementBudget;
+import com.roosvelt.Backend.service.OrderExportService;
 import com.roosvelt.Backend.service.OrderService;
+import com.roosvelt.Backend.service.OrderStreamService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -23,12 +36,62 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderStreamService orderStreamService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    // Champs sélectionnables (?fields=), un sélecteur par route
+    private final FieldSelector<OrderField> listFields = new FieldSelector<>("/api/orders", OrderField.class);
+    private final FieldSelector<OrderField> byIdFields = new FieldSelector<>("/api/orders/{id}", OrderField.class);
+    private final FieldSelector<OrderField> byPhoneFields = new FieldSelector<>("/api/orders/phone/{phone}", OrderField.class);
+
+    @StatementBudget(2)
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        List<OrderResponse> orders = orderService.getAllOrders();
+    public ResponseEntity<List<OrderResponse>> getAllOrders(@RequestParam(required = false) String fields) {
+        List<OrderResponse> orders = orderService.getAllOrders(listFields.parse(fields));
         return ResponseEntity.ok(orders);
     }
 
+    // Flux SSE des nouvelles commandes et changements de statut (Admin)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+                                   @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam) {
+        Long lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return orderStreamService.subscribe(lastEventId);
+    }
+
+    // Export comptable en flux (CSV ou NDJSON), sans charger l'historique en mémoire
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' cannot be after 'to'");
+        }
+        Order.OrderStatus orderStatus = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                orderStatus = Order.OrderStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown order status: " + status);
+            }
+        }
+
+        Order.OrderStatus statusFilter = orderStatus;
+        StreamingResponseBody body = out -> orderExportService.exportOrders(from, to, statusFilter, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @StatementBudget(25)
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
         log.info("Creating order for customer: {}", request.getCustomerInfo().getPhone());
@@ -36,9 +99,11 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
     }
 
+    @StatementBudget(2)
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponse> getOrderById(@PathVariable String id) {
-        OrderResponse order = orderService.getOrderById(id);
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable String id,
+                                                      @RequestParam(required = false) String fields) {
+        OrderResponse order = orderService.getOrderById(id, byIdFields.parse(fields));
         return ResponseEntity.ok(order);
     }
 
@@ -50,9 +115,11 @@ public class OrderController {
         return ResponseEntity.ok(updatedOrder);
     }
 
+    @StatementBudget(2)
     @GetMapping("/phone/{phone}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByPhone(@PathVariable String phone) {
-        List<OrderResponse> orders = orderService.getOrdersByPhone(phone);
+    public ResponseEntity<List<OrderResponse>> getOrdersByPhone(@PathVariable String phone,
+                                                                @RequestParam(required = false) String fields) {
+        List<OrderResponse> orders = orderService.getOrdersByPhone(phone, byPhoneFields.parse(fields));
         return ResponseEntity.ok(orders);
     }
 
@@ -2,6 +2,9 @@ package com.roosvelt.Backend.controller;
 
 import com.roosvelt.Backend.dto.ProductResponse;
 import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.fields.FieldSelector;
+import com.roosvelt.Backend.fields.ProductField;
+import com.roosvelt.Backend.monitoring.StatementBudget;
 import com.roosvelt.Backend.service.ProductService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,36 +22,49 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    // Champs sélectionnables (?fields=), un sélecteur par route
+    private final FieldSelector<ProductField> listFields = new FieldSelector<>("/api/products", ProductField.class);
+    private final FieldSelector<ProductField> searchFields = new FieldSelector<>("/api/products/search", ProductField.class);
+    private final FieldSelector<ProductField> filterFields = new FieldSelector<>("/api/products/filter", ProductField.class);
+
+    @StatementBudget(6)
     @GetMapping
-    public ResponseEntity<ProductResponse> getAllProducts(@RequestParam(defaultValue = "price_asc") String sortBy) {
-        ProductResponse productResponse = productService.getAllProducts(sortBy);
+    public ResponseEntity<ProductResponse> getAllProducts(@RequestParam(defaultValue = "price_asc") String sortBy,
+                                                          @RequestParam(required = false) String fields) {
+        ProductResponse productResponse = productService.getAllProducts(sortBy, listFields.parse(fields));
         return ResponseEntity.ok(productResponse);
     }
 
+    @StatementBudget(4)
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProductById(@PathVariable Long id) {
         Product product = productService.getProductById(id);
         return ResponseEntity.ok(product);
     }
 
+    @StatementBudget(6)
     @GetMapping("/search")
-    public ResponseEntity<ProductResponse> searchProducts(@RequestParam String q, @RequestParam(defaultValue = "price_asc") String sortBy) {
-        ProductResponse productResponse = productService.searchProducts(q, sortBy);
+    public ResponseEntity<ProductResponse> searchProducts(@RequestParam String q, @RequestParam(defaultValue = "price_asc") String sortBy,
+                                                          @RequestParam(required = false) String fields) {
+        ProductResponse productResponse = productService.searchProducts(q, sortBy, searchFields.parse(fields));
         return ResponseEntity.ok(productResponse);
     }
 
+    @StatementBudget(6)
     @GetMapping("/filter")
     public ResponseEntity<ProductResponse> filterProducts(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) Integer minPrice,
             @RequestParam(required = false) Integer maxPrice,
             @RequestParam(required = false) String search,
-            @RequestParam(defaultValue = "price_asc") String sortBy) {
+            @RequestParam(defaultValue = "price_asc") String sortBy,
+            @RequestParam(required = false) String fields) {
 
         String normalizedCategory = "null".equals(category) ? null : category;
         String normalizedSearch = "null".equals(search) ? null : search;
 
-        ProductResponse response = productService.filterProducts(normalizedCategory, minPrice, maxPrice, normalizedSearch, sortBy);
+        ProductResponse response = productService.filterProducts(normalizedCategory, minPrice, maxPrice, normalizedSearch, sortBy,
+                filterFields.parse(fields));
         return ResponseEntity.ok(response);
     }
 
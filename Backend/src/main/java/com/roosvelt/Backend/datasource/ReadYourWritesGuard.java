@@ -0,0 +1,73 @@
+package com.roosvelt.Backend.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Replicas may lag behind the primary: right after a write (e.g. a checkout), reads of the same data
+// are pinned to the primary for a short window so the customer sees their own order.
+@Component
+public class ReadYourWritesGuard {
+
+    // Products and categories, pinned as a whole: what is read right after a catalogue write gets cached
+    // (second-level and query caches) and would keep serving a lagging replica's rows long after the window
+    public static final String CATALOG = "catalog";
+
+    private static final Object PRIMARY_ROUTE = new Object();
+
+    @Value("${datasource.replicas.read-your-writes-window-ms:5000}")
+    private long windowMs;
+
+    // key -> pinned until (epoch millis)
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    // Called from write transactions for every key a following read might use
+    public void pin(String key) {
+        if (windowMs > 0) {
+            pinnedUntil.put(key, System.currentTimeMillis() + windowMs);
+        }
+    }
+
+    // Called at the start of a read-only transaction, before its first query:
+    // connections are acquired lazily, so the flag still decides where the transaction goes
+    public void routeToPrimaryIfPinned(String key) {
+        Long until = pinnedUntil.get(key);
+        if (until == null) {
+            return;
+        }
+        if (until < System.currentTimeMillis()) {
+            pinnedUntil.remove(key, until);
+            return;
+        }
+        routeToPrimary();
+    }
+
+    public static void routeToPrimary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(PRIMARY_ROUTE)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(PRIMARY_ROUTE, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PRIMARY_ROUTE);
+            }
+        });
+    }
+
+    public static boolean isPrimaryRequired() {
+        return TransactionSynchronizationManager.hasResource(PRIMARY_ROUTE);
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        pinnedUntil.values().removeIf(until -> until < now);
+    }
+}
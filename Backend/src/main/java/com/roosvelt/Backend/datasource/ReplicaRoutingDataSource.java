@@ -0,0 +1,141 @@
+package com.roosvelt.Backend.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Target for read-only connections: spreads them over the healthy replicas (round robin)
+// and falls back to the primary when none is usable or the transaction must read its own writes.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    // 0 when the replica has replayed everything it received, else the age of the last replayed transaction.
+    // On a server that is not a standby both LSNs are NULL, so it reports 0 as well.
+    private static final String LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, long maxLagMs) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWritesGuard.isPrimaryRequired()) {
+            return primary.getConnection();
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isHealthy()) {
+                continue;
+            }
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                // Don't wait for the next health check to stop sending traffic there
+                replica.markUnhealthy("connection failed: " + e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // Each pool (primary and replicas) holds its own credentials, so a connection cannot be opened as another
+    // user. LazyConnectionDataSourceProxy only calls this when it was given credentials, which
+    // ReadReplicaConfig never does.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    // Run by the scheduler: a replica is usable when it answers and is not lagging more than maxLagMs
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.getDataSource().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(2);
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    resultSet.next();
+                    long lagMs = Math.round(resultSet.getDouble(1) * 1000);
+                    replica.setLagMs(lagMs);
+                    if (lagMs > maxLagMs) {
+                        replica.markUnhealthy("replication lag " + lagMs + " ms");
+                    } else {
+                        replica.markHealthy();
+                    }
+                }
+            } catch (SQLException e) {
+                replica.markUnhealthy("health check failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagMs;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void markHealthy() {
+            if (!healthy) {
+                log.info("Replica {} is back in rotation", name);
+            }
+            healthy = true;
+        }
+
+        void markUnhealthy(String reason) {
+            if (healthy) {
+                log.warn("Replica {} removed from rotation: {}", name, reason);
+            }
+            healthy = false;
+        }
+
+        void setLagMs(long lagMs) {
+            this.lagMs = lagMs;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long getLagMs() {
+            return lagMs;
+        }
+    }
+}
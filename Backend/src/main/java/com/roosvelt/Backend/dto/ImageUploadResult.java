@@ -0,0 +1,35 @@
+package com.roosvelt.Backend.dto;
+
+public class ImageUploadResult {
+    private String url;
+    private String fileId;
+    private Integer height;
+    private Integer width;
+    // SHA-256 of the uploaded content, when it was hashed on the way
+    private String sha256;
+
+    public ImageUploadResult() {}
+
+    public ImageUploadResult(String url, String fileId, Integer height, Integer width) {
+        this.url = url;
+        this.fileId = fileId;
+        this.height = height;
+        this.width = width;
+    }
+
+    // Getters and Setters
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public String getFileId() { return fileId; }
+    public void setFileId(String fileId) { this.fileId = fileId; }
+
+    public Integer getHeight() { return height; }
+    public void setHeight(Integer height) { this.height = height; }
+
+    public Integer getWidth() { return width; }
+    public void setWidth(Integer width) { this.width = width; }
+
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+}
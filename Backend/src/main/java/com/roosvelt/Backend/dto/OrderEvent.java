@@ -0,0 +1,32 @@
+package com.roosvelt.Backend.dto;
+
+public class OrderEvent {
+    private long sequence;
+    private EventType type;
+    private OrderResponse order;
+
+    public OrderEvent() {}
+
+    public OrderEvent(EventType type, OrderResponse order) {
+        this.type = type;
+        this.order = order;
+    }
+
+    // Getters and Setters
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public EventType getType() { return type; }
+    public void setType(EventType type) { this.type = type; }
+
+    public OrderResponse getOrder() { return order; }
+    public void setOrder(OrderResponse order) { this.order = order; }
+
+    public enum EventType {
+        CREATED, STATUS_CHANGED;
+
+        public String getValue() {
+            return this.name().toLowerCase();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.roosvelt.Backend.dto;
 
 import com.roosvelt.Backend.entity.OrderItem;
-import com.roosvelt.Backend.entity.Product;
 
 public class OrderItemResponse {
     private ProductOrderItemResponse product;
@@ -12,7 +11,7 @@ public class OrderItemResponse {
 
     // Constructor to convert from Entity
     public OrderItemResponse(OrderItem orderItem) {
-        this.product = new ProductOrderItemResponse(orderItem.getProduct());
+        this.product = new ProductOrderItemResponse(orderItem);
         this.quantity = orderItem.getQuantity();
     }
 
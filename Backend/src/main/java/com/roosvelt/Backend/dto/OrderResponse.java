@@ -1,9 +1,12 @@
 package com.roosvelt.Backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.roosvelt.Backend.entity.CustomerInfo;
 import com.roosvelt.Backend.entity.Order;
+import com.roosvelt.Backend.fields.OrderField;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class OrderResponse {
@@ -13,6 +16,8 @@ public class OrderResponse {
     private Integer total;
     private Order.OrderStatus status;
     private LocalDateTime createdAt;
+    // Fields to write (?fields=), null for all of them
+    private Set<OrderField> fields;
 
     public OrderResponse() {}
 
@@ -46,6 +51,10 @@ public class OrderResponse {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @JsonIgnore
+    public Set<OrderField> getFields() { return fields; }
+    public void setFields(Set<OrderField> fields) { this.fields = fields; }
 }
 
 
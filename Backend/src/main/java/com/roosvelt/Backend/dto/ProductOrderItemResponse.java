@@ -1,5 +1,6 @@
 package com.roosvelt.Backend.dto;
 
+import com.roosvelt.Backend.entity.OrderItem;
 import com.roosvelt.Backend.entity.Product;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -29,6 +30,19 @@ public class ProductOrderItemResponse {
         this.updatedAt = product.getUpdatedAt();
     }
 
+    // Built from the snapshot stored on the order line, without loading the product
+    public ProductOrderItemResponse(OrderItem orderItem) {
+        this.id = orderItem.getProductId();
+        this.name = orderItem.getProductName();
+        this.price = orderItem.getUnitPrice();
+        this.images = orderItem.getProductImage() != null ? List.of(orderItem.getProductImage()) : List.of();
+        this.category = orderItem.getProductCategory();
+        this.description = orderItem.getProductDescription();
+        this.warranty = orderItem.getProductWarranty();
+        this.createdAt = orderItem.getProductCreatedAt();
+        this.updatedAt = orderItem.getProductUpdatedAt();
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
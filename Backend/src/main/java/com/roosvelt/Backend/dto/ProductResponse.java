@@ -1,11 +1,16 @@
 package com.roosvelt.Backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.fields.ProductField;
 import java.util.List;
+import java.util.Set;
 
 public class ProductResponse {
     private List<Product> products;
     private long count;
+    // Fields to write for each product (?fields=), null for all of them
+    private Set<ProductField> fields;
 
     public ProductResponse(Product product) {
     }
@@ -15,6 +20,12 @@ public class ProductResponse {
         this.count = count;
     }
 
+    public ProductResponse(List<Product> products, long count, Set<ProductField> fields) {
+        this.products = products;
+        this.count = count;
+        this.fields = fields;
+    }
+
     public List<Product> getProducts() {
         return products;
     }
@@ -30,4 +41,13 @@ public class ProductResponse {
     public void setCount(long count) {
         this.count = count;
     }
+
+    @JsonIgnore
+    public Set<ProductField> getFields() {
+        return fields;
+    }
+
+    public void setFields(Set<ProductField> fields) {
+        this.fields = fields;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.roosvelt.Backend.dto;
+
+import java.util.Map;
+
+public class UploadedImage {
+    private String url;
+    private String fileId;
+    private Long size;
+    private Integer width;
+    private Integer height;
+    private Map<Integer, String> variants;
+    private boolean deduplicated;
+
+    public UploadedImage() {}
+
+    public UploadedImage(String url, String fileId, Long size, Integer width, Integer height,
+                         Map<Integer, String> variants, boolean deduplicated) {
+        this.url = url;
+        this.fileId = fileId;
+        this.size = size;
+        this.width = width;
+        this.height = height;
+        this.variants = variants;
+        this.deduplicated = deduplicated;
+    }
+
+    public UploadedImage asDuplicate() {
+        return new UploadedImage(url, fileId, size, width, height, variants, true);
+    }
+
+    // Getters and Setters
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public String getFileId() { return fileId; }
+    public void setFileId(String fileId) { this.fileId = fileId; }
+
+    public Long getSize() { return size; }
+    public void setSize(Long size) { this.size = size; }
+
+    public Integer getWidth() { return width; }
+    public void setWidth(Integer width) { this.width = width; }
+
+    public Integer getHeight() { return height; }
+    public void setHeight(Integer height) { this.height = height; }
+
+    public Map<Integer, String> getVariants() { return variants; }
+    public void setVariants(Map<Integer, String> variants) { this.variants = variants; }
+
+    public boolean isDeduplicated() { return deduplicated; }
+    public void setDeduplicated(boolean deduplicated) { this.deduplicated = deduplicated; }
+}
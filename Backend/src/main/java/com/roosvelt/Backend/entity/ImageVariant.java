@@ -0,0 +1,61 @@
+package com.roosvelt.Backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A resized copy of an uploaded image, recorded at upload time and keyed by the original URL
+@Entity
+@Table(name = "image_variants", indexes = @Index(name = "idx_image_variants_original_url", columnList = "original_url"))
+public class ImageVariant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "original_url", nullable = false, columnDefinition = "TEXT")
+    private String originalUrl;
+
+    @Column(nullable = false)
+    private Integer width;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String url;
+
+    @Column(name = "file_id")
+    private String fileId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public ImageVariant() {}
+
+    public ImageVariant(String originalUrl, Integer width, String url, String fileId) {
+        this.originalUrl = originalUrl;
+        this.width = width;
+        this.url = url;
+        this.fileId = fileId;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getOriginalUrl() { return originalUrl; }
+    public void setOriginalUrl(String originalUrl) { this.originalUrl = originalUrl; }
+
+    public Integer getWidth() { return width; }
+    public void setWidth(Integer width) { this.width = width; }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public String getFileId() { return fileId; }
+    public void setFileId(String fileId) { this.fileId = fileId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
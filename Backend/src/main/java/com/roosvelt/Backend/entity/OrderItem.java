@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Table(name = "order_items")
@@ -22,6 +24,34 @@ public class OrderItem {
     @NotNull
     private Product product;
 
+    @Column(name = "product_id", insertable = false, updatable = false)
+    private Long productId;
+
+    // Snapshot of the product as it was sold, so reading an order never touches products
+    @Column(name = "product_name", updatable = false)
+    private String productName;
+
+    @Column(name = "unit_price", updatable = false)
+    private Integer unitPrice;
+
+    @Column(name = "product_category", updatable = false)
+    private String productCategory;
+
+    @Column(name = "product_image", columnDefinition = "TEXT", updatable = false)
+    private String productImage;
+
+    @Column(name = "product_description", columnDefinition = "TEXT", updatable = false)
+    private String productDescription;
+
+    @Column(name = "product_warranty", updatable = false)
+    private String productWarranty;
+
+    @Column(name = "product_created_at", updatable = false)
+    private LocalDateTime productCreatedAt;
+
+    @Column(name = "product_updated_at", updatable = false)
+    private LocalDateTime productUpdatedAt;
+
     @NotNull
     @Positive
     @Column(nullable = false)
@@ -32,6 +62,20 @@ public class OrderItem {
     public OrderItem(Product product, Integer quantity) {
         this.product = product;
         this.quantity = quantity;
+        captureSnapshot(product);
+    }
+
+    public void captureSnapshot(Product product) {
+        this.productId = product.getId();
+        this.productName = product.getName();
+        this.unitPrice = product.getPrice();
+        this.productCategory = product.getCategory();
+        List<String> images = product.getImages();
+        this.productImage = (images != null && !images.isEmpty()) ? images.get(0) : null;
+        this.productDescription = product.getDescription();
+        this.productWarranty = product.getWarranty();
+        this.productCreatedAt = product.getCreatedAt();
+        this.productUpdatedAt = product.getUpdatedAt();
     }
 
     // Getters and Setters
@@ -49,6 +93,24 @@ public class OrderItem {
     public Product getProduct() { return product; }
     public void setProduct(Product product) { this.product = product; }
 
+    public Long getProductId() { return productId; }
+
+    public String getProductName() { return productName; }
+
+    public Integer getUnitPrice() { return unitPrice; }
+
+    public String getProductCategory() { return productCategory; }
+
+    public String getProductImage() { return productImage; }
+
+    public String getProductDescription() { return productDescription; }
+
+    public String getProductWarranty() { return productWarranty; }
+
+    public LocalDateTime getProductCreatedAt() { return productCreatedAt; }
+
+    public LocalDateTime getProductUpdatedAt() { return productUpdatedAt; }
+
     public Integer getQuantity() { return quantity; }
     public void setQuantity(Integer quantity) { this.quantity = quantity; }
 }
\ No newline at end of file
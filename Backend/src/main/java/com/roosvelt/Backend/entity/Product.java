@@ -4,11 +4,14 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "products")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,10 +31,17 @@ public class Product {
     private Integer price;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-images")
     @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "image_url")
     private List<String> images;
 
+    // Resized copies of the images (e.g. 200px for cards), filled from the upload-time variants
+    @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-image-variants")
+    @CollectionTable(name = "product_image_variants", joinColumns = @JoinColumn(name = "product_id"))
+    private List<ProductImageVariant> imageVariants;
+
     @NotBlank
     @Column(name = "category")
     private String category;
@@ -84,6 +94,9 @@ public class Product {
     public List<String> getImages() { return images; }
     public void setImages(List<String> images) { this.images = images; }
 
+    public List<ProductImageVariant> getImageVariants() { return imageVariants; }
+    public void setImageVariants(List<ProductImageVariant> imageVariants) { this.imageVariants = imageVariants; }
+
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
 
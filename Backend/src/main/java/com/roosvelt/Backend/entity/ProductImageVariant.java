@@ -0,0 +1,33 @@
+package com.roosvelt.Backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class ProductImageVariant {
+    @Column(name = "image_url", columnDefinition = "TEXT")
+    private String imageUrl;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "variant_url", columnDefinition = "TEXT")
+    private String url;
+
+    public ProductImageVariant() {}
+
+    public ProductImageVariant(String imageUrl, Integer width, String url) {
+        this.imageUrl = imageUrl;
+        this.width = width;
+        this.url = url;
+    }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public Integer getWidth() { return width; }
+    public void setWidth(Integer width) { this.width = width; }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+}
@@ -0,0 +1,116 @@
+package com.roosvelt.Backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDateTime;
+
+// One stored image per distinct content (SHA-256). Every upload of the same bytes adds a reference
+// instead of a new file, and the file is only deleted once no upload references it anymore.
+// The id is assigned (the hash), so new rows say so themselves: save() then inserts instead of merging,
+// and a concurrent insert of the same content fails on the primary key.
+@Entity
+@Table(name = "stored_images", indexes = {
+        @Index(name = "idx_stored_images_url", columnList = "url"),
+        @Index(name = "idx_stored_images_file_id", columnList = "file_id"),
+        @Index(name = "idx_stored_images_size", columnList = "size")
+})
+public class StoredImage implements Persistable<String> {
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String url;
+
+    @Column(name = "file_id")
+    private String fileId;
+
+    @Column(nullable = false)
+    private Long size;
+
+    private Integer width;
+
+    private Integer height;
+
+    @Column(name = "reference_count", nullable = false)
+    private Integer referenceCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Last time an upload was answered with this image (null on rows older than the column: created_at)
+    @Column(name = "last_acquired_at")
+    private LocalDateTime lastAcquiredAt;
+
+    // Last time the orphan collector failed to delete the file, so it waits before trying again
+    @Column(name = "gc_failed_at")
+    private LocalDateTime gcFailedAt;
+
+    @Transient
+    private boolean persisted;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (lastAcquiredAt == null) {
+            lastAcquiredAt = createdAt;
+        }
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void markPersisted() {
+        persisted = true;
+    }
+
+    @Override
+    public String getId() { return sha256; }
+
+    @Override
+    public boolean isNew() { return !persisted; }
+
+    public StoredImage() {}
+
+    public StoredImage(String sha256, String url, String fileId, Long size, Integer width, Integer height) {
+        this.sha256 = sha256;
+        this.url = url;
+        this.fileId = fileId;
+        this.size = size;
+        this.width = width;
+        this.height = height;
+        this.referenceCount = 1;
+    }
+
+    // Getters and Setters
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public String getFileId() { return fileId; }
+    public void setFileId(String fileId) { this.fileId = fileId; }
+
+    public Long getSize() { return size; }
+    public void setSize(Long size) { this.size = size; }
+
+    public Integer getWidth() { return width; }
+    public void setWidth(Integer width) { this.width = width; }
+
+    public Integer getHeight() { return height; }
+    public void setHeight(Integer height) { this.height = height; }
+
+    public Integer getReferenceCount() { return referenceCount; }
+    public void setReferenceCount(Integer referenceCount) { this.referenceCount = referenceCount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getLastAcquiredAt() { return lastAcquiredAt; }
+    public void setLastAcquiredAt(LocalDateTime lastAcquiredAt) { this.lastAcquiredAt = lastAcquiredAt; }
+
+    public LocalDateTime getGcFailedAt() { return gcFailedAt; }
+    public void setGcFailedAt(LocalDateTime gcFailedAt) { this.gcFailedAt = gcFailedAt; }
+}
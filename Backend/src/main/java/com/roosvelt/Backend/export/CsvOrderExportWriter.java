@@ -0,0 +1,104 @@
+package com.roosvelt.Backend.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+// One CSV line per order line (RFC 4180 quoting), written through a fixed 64 KB buffer
+public class CsvOrderExportWriter implements OrderExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String HEADER = "order_id,created_at,status,first_name,last_name,phone,address,city,quarter," +
+            "order_total,product_id,product_name,product_category,unit_price,quantity,line_total";
+
+    private final Writer writer;
+
+    public CsvOrderExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(OrderExportRow row) throws IOException {
+        writeField(row.getOrderId());
+        writer.write(',');
+        if (row.getCreatedAt() != null) {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(row.getCreatedAt(), writer);
+        }
+        writer.write(',');
+        writeField(row.getStatus());
+        writer.write(',');
+        writeField(row.getFirstName());
+        writer.write(',');
+        writeField(row.getLastName());
+        writer.write(',');
+        writeField(row.getPhone());
+        writer.write(',');
+        writeField(row.getAddress());
+        writer.write(',');
+        writeField(row.getCity());
+        writer.write(',');
+        writeField(row.getQuarter());
+        writer.write(',');
+        writer.write(Integer.toString(row.getTotal()));
+        writer.write(',');
+        if (row.hasItem()) {
+            writer.write(Long.toString(row.getProductId()));
+            writer.write(',');
+            writeField(row.getProductName());
+            writer.write(',');
+            writeField(row.getProductCategory());
+            writer.write(',');
+            writeNumber(row.getUnitPrice());
+            writer.write(',');
+            writeNumber(row.getQuantity());
+            writer.write(',');
+            if (row.getUnitPrice() != null && row.getQuantity() != null) {
+                writer.write(Long.toString((long) row.getUnitPrice() * row.getQuantity()));
+            }
+        } else {
+            writer.write(",,,,,");
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeNumber(Integer value) throws IOException {
+        if (value != null) {
+            writer.write(Integer.toString(value));
+        }
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
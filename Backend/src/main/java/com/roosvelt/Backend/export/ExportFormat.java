@@ -0,0 +1,37 @@
+package com.roosvelt.Backend.export;
+
+import com.roosvelt.Backend.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public enum ExportFormat {
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8")),
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() { return extension; }
+
+    public MediaType getMediaType() { return mediaType; }
+
+    public OrderExportWriter createWriter(OutputStream out) throws IOException {
+        return this == CSV ? new CsvOrderExportWriter(out) : new NdjsonOrderExportWriter(out);
+    }
+
+    public static ExportFormat fromValue(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported export format: " + value + " (use csv or ndjson)");
+    }
+}
@@ -0,0 +1,85 @@
+package com.roosvelt.Backend.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+
+// One JSON object per order and per line. Rows arrive sorted by order, so consecutive
+// lines are folded into the open order's "items" array without holding the order in memory.
+public class NdjsonOrderExportWriter implements OrderExportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final JsonGenerator generator;
+    private String currentOrderId;
+
+    public NdjsonOrderExportWriter(OutputStream out) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(OrderExportRow row) throws IOException {
+        if (!row.getOrderId().equals(currentOrderId)) {
+            closeOrder();
+            openOrder(row);
+        }
+        if (row.hasItem()) {
+            generator.writeStartObject();
+            generator.writeNumberField("productId", row.getProductId());
+            generator.writeStringField("productName", row.getProductName());
+            generator.writeStringField("category", row.getProductCategory());
+            writeNumberField("unitPrice", row.getUnitPrice());
+            writeNumberField("quantity", row.getQuantity());
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        closeOrder();
+        generator.flush();
+    }
+
+    private void openOrder(OrderExportRow row) throws IOException {
+        currentOrderId = row.getOrderId();
+        generator.writeStartObject();
+        generator.writeStringField("id", row.getOrderId());
+        generator.writeStringField("createdAt",
+                row.getCreatedAt() != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.getCreatedAt()) : null);
+        generator.writeStringField("status", row.getStatus());
+        generator.writeObjectFieldStart("customerInfo");
+        generator.writeStringField("firstName", row.getFirstName());
+        generator.writeStringField("lastName", row.getLastName());
+        generator.writeStringField("phone", row.getPhone());
+        generator.writeStringField("address", row.getAddress());
+        generator.writeStringField("city", row.getCity());
+        generator.writeStringField("quarter", row.getQuarter());
+        generator.writeEndObject();
+        generator.writeNumberField("total", row.getTotal());
+        generator.writeArrayFieldStart("items");
+    }
+
+    private void closeOrder() throws IOException {
+        if (currentOrderId == null) {
+            return;
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        currentOrderId = null;
+    }
+
+    private void writeNumberField(String name, Integer value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        } else {
+            generator.writeNullField(name);
+        }
+    }
+}
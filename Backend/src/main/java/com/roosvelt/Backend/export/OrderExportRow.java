@@ -0,0 +1,92 @@
+package com.roosvelt.Backend.export;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// One order line joined with its order. A single instance is refilled for every cursor row.
+public class OrderExportRow {
+    private String orderId;
+    private LocalDateTime createdAt;
+    private String status;
+    private String firstName;
+    private String lastName;
+    private String phone;
+    private String address;
+    private String city;
+    private String quarter;
+    private int total;
+    private Long productId;
+    private String productName;
+    private String productCategory;
+    private Integer unitPrice;
+    private Integer quantity;
+
+    public void readFrom(ResultSet rs) throws SQLException {
+        orderId = rs.getString("id");
+        createdAt = rs.getObject("created_at", LocalDateTime.class);
+        status = rs.getString("status").toLowerCase();
+        firstName = rs.getString("first_name");
+        lastName = rs.getString("last_name");
+        phone = rs.getString("phone");
+        address = rs.getString("address");
+        city = rs.getString("city");
+        quarter = rs.getString("quarter");
+        total = rs.getInt("total");
+        productId = rs.getObject("product_id", Long.class);
+        productName = rs.getString("product_name");
+        productCategory = rs.getString("product_category");
+        unitPrice = rs.getObject("unit_price", Integer.class);
+        quantity = rs.getObject("quantity", Integer.class);
+    }
+
+    public boolean hasItem() {
+        return productId != null;
+    }
+
+    // Getters and Setters
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getQuarter() { return quarter; }
+    public void setQuarter(String quarter) { this.quarter = quarter; }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
+    public String getProductCategory() { return productCategory; }
+    public void setProductCategory(String productCategory) { this.productCategory = productCategory; }
+
+    public Integer getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(Integer unitPrice) { this.unitPrice = unitPrice; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+}
@@ -0,0 +1,11 @@
+package com.roosvelt.Backend.export;
+
+import java.io.IOException;
+
+// Writes export rows as they come off the cursor; implementations keep only a fixed-size buffer
+public interface OrderExportWriter {
+
+    void write(OrderExportRow row) throws IOException;
+
+    void finish() throws IOException;
+}
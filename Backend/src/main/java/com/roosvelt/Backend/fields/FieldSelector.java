@@ -0,0 +1,60 @@
+package com.roosvelt.Backend.fields;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roosvelt.Backend.exception.BadRequestException;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Parses the ?fields= parameter of one route (e.g. fields=id,name,price,images). Clients send the same
+// few values over and over, so each valid value is parsed once and kept in a small bounded cache; an
+// unknown field is a 400 and is not cached. null means every field (no parameter, or all of them listed).
+public class FieldSelector<F extends Enum<F> & SelectableField> {
+
+    private static final int CACHE_SIZE = 256;
+
+    private final String route;
+    private final Class<F> type;
+    private final Map<String, F> byName = new LinkedHashMap<>();
+    private final Cache<String, Set<F>> parsed = Caffeine.newBuilder().maximumSize(CACHE_SIZE).build();
+
+    public FieldSelector(String route, Class<F> type) {
+        this.route = route;
+        this.type = type;
+        for (F field : type.getEnumConstants()) {
+            byName.put(field.getJsonName(), field);
+        }
+    }
+
+    public Set<F> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<F> selection = parsed.get(fields, this::parseUncached);
+        return selection.size() == byName.size() ? null : selection;
+    }
+
+    private Set<F> parseUncached(String fields) {
+        EnumSet<F> selection = EnumSet.noneOf(type);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            F field = byName.get(trimmed);
+            if (field == null) {
+                throw new BadRequestException("Unknown field '" + trimmed + "' for " + route
+                        + ", expected: " + String.join(",", byName.keySet()));
+            }
+            selection.add(field);
+        }
+        if (selection.isEmpty()) {
+            throw new BadRequestException("No field selected for " + route);
+        }
+        return Collections.unmodifiableSet(selection);
+    }
+}
@@ -0,0 +1,28 @@
+package com.roosvelt.Backend.fields;
+
+// Fields of an order in API responses, with the columns that hold them (null: read from order_items)
+public enum OrderField implements SelectableField {
+    ID("id", "o.id"),
+    CUSTOMER_INFO("customerInfo", "o.first_name, o.last_name, o.phone, o.address, o.city, o.quarter"),
+    ITEMS("items", null),
+    TOTAL("total", "o.total"),
+    STATUS("status", "o.status"),
+    CREATED_AT("createdAt", "o.created_at");
+
+    private final String jsonName;
+    private final String columns;
+
+    OrderField(String jsonName, String columns) {
+        this.jsonName = jsonName;
+        this.columns = columns;
+    }
+
+    @Override
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getColumns() {
+        return columns;
+    }
+}
@@ -0,0 +1,32 @@
+package com.roosvelt.Backend.fields;
+
+// Fields of a product in API responses, with the column that holds them (null: read from a collection table)
+public enum ProductField implements SelectableField {
+    ID("id", "p.id"),
+    NAME("name", "p.name"),
+    DESCRIPTION("description", "p.description"),
+    PRICE("price", "p.price"),
+    IMAGES("images", null),
+    IMAGE_VARIANTS("imageVariants", null),
+    CATEGORY("category", "p.category"),
+    WARRANTY("warranty", "p.warranty"),
+    CREATED_AT("createdAt", "p.created_at"),
+    UPDATED_AT("updatedAt", "p.updated_at");
+
+    private final String jsonName;
+    private final String column;
+
+    ProductField(String jsonName, String column) {
+        this.jsonName = jsonName;
+        this.column = column;
+    }
+
+    @Override
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+}
@@ -0,0 +1,7 @@
+package com.roosvelt.Backend.fields;
+
+// A response field that ?fields= can select, by its JSON name
+public interface SelectableField {
+
+    String getJsonName();
+}
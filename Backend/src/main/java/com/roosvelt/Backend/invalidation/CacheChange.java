@@ -0,0 +1,47 @@
+package com.roosvelt.Backend.invalidation;
+
+// Published by the services when a product, category or order is written. Once the transaction has
+// committed, InvalidationPublisher announces it to the other instances.
+public class CacheChange {
+
+    public enum Entity {
+        PRODUCT("p"),
+        CATEGORY("c"),
+        ORDER("o");
+
+        private final String code;
+
+        Entity(String code) {
+            this.code = code;
+        }
+
+        String getCode() {
+            return code;
+        }
+
+        static Entity fromCode(String code) {
+            for (Entity entity : values()) {
+                if (entity.code.equals(code)) {
+                    return entity;
+                }
+            }
+            throw new IllegalArgumentException("Unknown entity code '" + code + "'");
+        }
+    }
+
+    private final Entity entity;
+    private final String id;
+
+    public CacheChange(Entity entity, Object id) {
+        this.entity = entity;
+        this.id = String.valueOf(id);
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
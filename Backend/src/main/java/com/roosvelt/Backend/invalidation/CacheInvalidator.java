@@ -0,0 +1,139 @@
+package com.roosvelt.Backend.invalidation;
+
+import com.roosvelt.Backend.datasource.ReadYourWritesGuard;
+import com.roosvelt.Backend.entity.Category;
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.service.ProductQueryCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Applies the writes announced by the other instances to this instance's caches: the second-level cache
+// entries of the changed rows, every cached query result (Hibernate's query cache and ProductQueryCache),
+// and the read-your-writes pins of changed orders and of the catalogue, so the reloads don't read a replica
+// that has not replayed the change yet. Versions are followed per origin; a gap means
+// notifications were lost, and since nobody knows what they said, every region is emptied (full resync).
+@Component
+public class CacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidator.class);
+
+    // Above this many ids of one entity in a batch, its regions are emptied instead of evicted id by id
+    static final int MAX_EVICTIONS_PER_ENTITY = 100;
+
+    private static final String PRODUCT_IMAGES = Product.class.getName() + ".images";
+    private static final String PRODUCT_IMAGE_VARIANTS = Product.class.getName() + ".imageVariants";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductQueryCache productQueryCache;
+
+    @Autowired
+    private ReadYourWritesGuard readYourWritesGuard;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // origin -> last version received
+    private final Map<String, Long> lastVersions = new HashMap<>();
+    private Counter received;
+
+    @PostConstruct
+    public void initialize() {
+        received = Counter.builder("cache.invalidation.received")
+                .description("Change notifications received from the other instances")
+                .register(meterRegistry);
+    }
+
+    // One coalesced batch: each changed row is evicted once and the query results are dropped once
+    synchronized void apply(List<ChangeNotification> batch) {
+        boolean missed = false;
+        Map<CacheChange.Entity, Set<String>> changed = new EnumMap<>(CacheChange.Entity.class);
+        for (ChangeNotification notification : batch) {
+            Long last = lastVersions.put(notification.getOrigin(), notification.getVersion());
+            if (last != null && notification.getVersion() != last + 1) {
+                missed = true;
+            }
+            changed.computeIfAbsent(notification.getEntity(), entity -> new LinkedHashSet<>()).add(notification.getId());
+        }
+        received.increment(batch.size());
+
+        for (String id : changed.getOrDefault(CacheChange.Entity.ORDER, Set.of())) {
+            readYourWritesGuard.pin("order:" + id);
+        }
+        if (changed.containsKey(CacheChange.Entity.ORDER)) {
+            readYourWritesGuard.pin("orders");
+        }
+        if (changed.containsKey(CacheChange.Entity.PRODUCT) || changed.containsKey(CacheChange.Entity.CATEGORY)) {
+            readYourWritesGuard.pin(ReadYourWritesGuard.CATALOG);
+        }
+        if (missed) {
+            resync("missed");
+            return;
+        }
+
+        Cache cache = cache();
+        Set<String> products = changed.get(CacheChange.Entity.PRODUCT);
+        if (products != null) {
+            if (products.size() > MAX_EVICTIONS_PER_ENTITY) {
+                cache.evictEntityData(Product.class);
+                cache.evictCollectionData(PRODUCT_IMAGES);
+                cache.evictCollectionData(PRODUCT_IMAGE_VARIANTS);
+            } else {
+                for (String id : products) {
+                    Long productId = Long.valueOf(id);
+                    cache.evictEntityData(Product.class, productId);
+                    cache.evictCollectionData(PRODUCT_IMAGES, productId);
+                    cache.evictCollectionData(PRODUCT_IMAGE_VARIANTS, productId);
+                }
+            }
+            productQueryCache.invalidate();
+        }
+        Set<String> categories = changed.get(CacheChange.Entity.CATEGORY);
+        if (categories != null) {
+            if (categories.size() > MAX_EVICTIONS_PER_ENTITY) {
+                cache.evictEntityData(Category.class);
+            } else {
+                categories.forEach(id -> cache.evictEntityData(Category.class, id));
+            }
+        }
+        // The query cache checks results against this instance's writes only
+        if (products != null || categories != null) {
+            cache.evictDefaultQueryRegion();
+        }
+    }
+
+    // Everything this instance cached may be stale: nothing is kept
+    public synchronized void resync(String reason) {
+        readYourWritesGuard.pin(ReadYourWritesGuard.CATALOG);
+        cache().evictAllRegions();
+        productQueryCache.invalidate();
+        meterRegistry.counter("cache.invalidation.resyncs", "reason", reason).increment();
+        log.info("Cache invalidation: full resync ({})", reason);
+    }
+
+    // Called when the listener (re)connects: versions received before say nothing about the ones to come
+    public synchronized void reset() {
+        lastVersions.clear();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,48 @@
+package com.roosvelt.Backend.invalidation;
+
+// A CacheChange as sent in the NOTIFY payload: "<origin> <version> <entity> <id>", e.g. "3f2a9c1e 42 p 17".
+// origin identifies the publishing instance (random at each start) and version numbers its notifications
+// from 1, so a receiver knows when it missed one.
+final class ChangeNotification {
+
+    private final String origin;
+    private final long version;
+    private final CacheChange.Entity entity;
+    private final String id;
+
+    ChangeNotification(String origin, long version, CacheChange.Entity entity, String id) {
+        this.origin = origin;
+        this.version = version;
+        this.entity = entity;
+        this.id = id;
+    }
+
+    String toPayload() {
+        return origin + " " + version + " " + entity.getCode() + " " + id;
+    }
+
+    static ChangeNotification parse(String payload) {
+        String[] parts = payload.split(" ", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed cache notification '" + payload + "'");
+        }
+        return new ChangeNotification(parts[0], Long.parseLong(parts[1]), CacheChange.Entity.fromCode(parts[2]),
+                parts[3]);
+    }
+
+    String getOrigin() {
+        return origin;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    CacheChange.Entity getEntity() {
+        return entity;
+    }
+
+    String getId() {
+        return id;
+    }
+}
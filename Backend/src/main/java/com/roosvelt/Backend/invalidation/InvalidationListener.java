@@ -0,0 +1,196 @@
+package com.roosvelt.Backend.invalidation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.Driver;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+// Receives the other instances' notifications (see InvalidationPublisher) on a PostgreSQL connection of its own:
+// LISTEN keeps it for the life of the instance, so it is opened with the driver, outside the pool.
+// Notifications arriving within coalesce-ms of the first one are applied as one batch. Whatever is sent while
+// the connection is down is lost, so every (re)connection starts with a full resync.
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true")
+public class InvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationListener.class);
+
+    // Shown in pg_stat_activity
+    static final String APPLICATION_NAME = "cache-invalidation-listener";
+
+    @Value("${cache.invalidation.channel:cache_invalidation}")
+    private String channel;
+
+    @Value("${cache.invalidation.coalesce-ms:50}")
+    private int coalesceMs;
+
+    @Value("${cache.invalidation.keepalive-ms:10000}")
+    private int keepaliveMs;
+
+    @Value("${cache.invalidation.reconnect-delay-ms:1000}")
+    private long reconnectDelayMs;
+
+    @Value("${cache.invalidation.max-reconnect-delay-ms:30000}")
+    private long maxReconnectDelayMs;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private InvalidationPublisher publisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Connection connection;
+    private Thread thread;
+
+    @PostConstruct
+    public void start() {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("cache.invalidation.channel must be a lower case identifier: " + channel);
+        }
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            log.warn("Cache invalidation needs PostgreSQL, not listening on {}", url);
+            return;
+        }
+        Gauge.builder("cache.invalidation.connected", this, listener -> listener.connected ? 1 : 0)
+                .description("1 while the listener connection is up")
+                .register(meterRegistry);
+        running = true;
+        thread = new Thread(this::run, APPLICATION_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            // Unblocks getNotifications()
+            Connection current = connection;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (SQLException e) {
+                    // Closing anyway
+                }
+            }
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        long delay = reconnectDelayMs;
+        while (running) {
+            try (Connection opened = connect()) {
+                connection = opened;
+                listen(opened);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                if (connected) {
+                    // An established connection was lost: retry soon, back off only while reconnecting fails
+                    delay = reconnectDelayMs;
+                }
+                log.warn("Cache invalidation listener disconnected, reconnecting in {} ms: {}", delay, e.getMessage());
+            } finally {
+                connected = false;
+                connection = null;
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                return;
+            }
+            delay = Math.min(delay * 2, maxReconnectDelayMs);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", dataSourceProperties.determineUsername());
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("ApplicationName", APPLICATION_NAME);
+        return new Driver().connect(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        connected = true;
+        // Listening from here on: the resync covers everything sent before
+        cacheInvalidator.reset();
+        cacheInvalidator.resync("connect");
+        log.info("Cache invalidation: listening on channel '{}'", channel);
+
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(keepaliveMs);
+            if (notifications == null || notifications.length == 0) {
+                // Nothing for a while: make sure the server is still there
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                continue;
+            }
+            List<ChangeNotification> batch = new ArrayList<>();
+            add(batch, notifications);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(coalesceMs);
+            long remaining;
+            while ((remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())) > 0) {
+                add(batch, pgConnection.getNotifications((int) remaining));
+            }
+            if (!batch.isEmpty()) {
+                cacheInvalidator.apply(batch);
+            }
+        }
+    }
+
+    // Skips this instance's own notifications: its caches were updated by the write itself
+    private void add(List<ChangeNotification> batch, PGNotification[] notifications) {
+        if (notifications == null) {
+            return;
+        }
+        for (PGNotification notification : notifications) {
+            try {
+                ChangeNotification change = ChangeNotification.parse(notification.getParameter());
+                if (!change.getOrigin().equals(publisher.getOrigin())) {
+                    batch.add(change);
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring cache notification: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.roosvelt.Backend.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Announces committed writes to the other instances with a PostgreSQL NOTIFY (see InvalidationListener).
+// Rolled back writes are never announced. The writer's thread only numbers the change and queues it; a single
+// sender thread sends the NOTIFYs one at a time, each from a transaction of its own, so every listener receives
+// this instance's versions in order and writes never wait on each other's round trips. A failed or dropped
+// NOTIFY still uses up its version: the listeners see the gap with the next notification and resync.
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true")
+public class InvalidationPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationPublisher.class);
+
+    // Only fills up if the database stops answering; past it changes are dropped and the listeners resync
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    @Value("${cache.invalidation.channel:cache_invalidation}")
+    private String channel;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final String origin = UUID.randomUUID().toString().substring(0, 8);
+    private final BlockingQueue<ChangeNotification> pending = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private long version;
+    private volatile boolean running;
+    private Thread sender;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate notifyTransaction;
+    private Counter published;
+    private Counter failed;
+
+    @PostConstruct
+    public void initialize() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Each NOTIFY is committed by a transaction of its own
+        notifyTransaction = new TransactionTemplate(transactionManager);
+        notifyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        published = Counter.builder("cache.invalidation.published")
+                .description("Change notifications sent to the other instances")
+                .register(meterRegistry);
+        failed = Counter.builder("cache.invalidation.publish.failures")
+                .description("Change notifications that could not be sent")
+                .register(meterRegistry);
+        running = true;
+        sender = new Thread(this::run, "cache-invalidation-publisher");
+        sender.setDaemon(true);
+        sender.start();
+        log.info("Cache invalidation: publishing on channel '{}' as instance {}", channel, origin);
+    }
+
+    // Sends what is already queued, then stops
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (sender != null) {
+            sender.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    // fallbackExecution: ProductService and CategoryService write through the repositories' own transactions,
+    // already committed when the event is published
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChange(CacheChange change) {
+        ChangeNotification notification;
+        boolean queued;
+        // Numbering and queuing together keep the queue in version order; nothing in here waits
+        synchronized (pending) {
+            notification = new ChangeNotification(origin, ++version, change.getEntity(), change.getId());
+            queued = pending.offer(notification);
+        }
+        if (!queued) {
+            failed.increment();
+            log.warn("Cache notification queue full, dropping '{}'", notification.toPayload());
+        }
+    }
+
+    private void run() {
+        while (running || !pending.isEmpty()) {
+            ChangeNotification notification;
+            try {
+                notification = pending.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (notification != null) {
+                send(notification);
+            }
+        }
+    }
+
+    private void send(ChangeNotification notification) {
+        try {
+            notifyTransaction.executeWithoutResult(status -> jdbcTemplate.query("SELECT pg_notify(?, ?)",
+                    (RowCallbackHandler) rs -> { }, channel, notification.toPayload()));
+            published.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Could not publish cache notification '{}': {}", notification.toPayload(), e.getMessage());
+        }
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+}
@@ -0,0 +1,359 @@
+package com.roosvelt.Backend.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.roosvelt.Backend.dto.OrderItemResponse;
+import com.roosvelt.Backend.dto.OrderResponse;
+import com.roosvelt.Backend.dto.ProductOrderItemResponse;
+import com.roosvelt.Backend.dto.ProductResponse;
+import com.roosvelt.Backend.entity.CustomerInfo;
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.entity.ProductImageVariant;
+import com.roosvelt.Backend.fields.OrderField;
+import com.roosvelt.Backend.fields.ProductField;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+
+// Hand-written serializers for the catalogue and order payloads, registered on Spring's ObjectMapper
+// (Boot installs every Module bean). They replace the reflective BeanSerializer: field names are
+// pre-encoded SerializedStrings, nested objects are written inline without a serializer lookup, and
+// dates are formatted without DateTimeFormatter. Output is byte-identical to the reflective one
+// (field order = declaration order, nulls written, ISO dates), which CatalogJsonModuleTests checks.
+// Fields added to these classes must be added here too. They also apply the ?fields= selection carried by
+// ProductResponse / OrderResponse; with json.precompiled-serializers off, unselected fields come out as null.
+@Component
+@ConditionalOnProperty(name = "json.precompiled-serializers.enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogJsonModule extends SimpleModule {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString IMAGES = new SerializedString("images");
+    private static final SerializedString IMAGE_VARIANTS = new SerializedString("imageVariants");
+    private static final SerializedString IMAGE_URL = new SerializedString("imageUrl");
+    private static final SerializedString WIDTH = new SerializedString("width");
+    private static final SerializedString URL = new SerializedString("url");
+    private static final SerializedString CATEGORY = new SerializedString("category");
+    private static final SerializedString WARRANTY = new SerializedString("warranty");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString PRODUCTS = new SerializedString("products");
+    private static final SerializedString COUNT = new SerializedString("count");
+    private static final SerializedString CUSTOMER_INFO = new SerializedString("customerInfo");
+    private static final SerializedString ITEMS = new SerializedString("items");
+    private static final SerializedString TOTAL = new SerializedString("total");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString PRODUCT = new SerializedString("product");
+    private static final SerializedString QUANTITY = new SerializedString("quantity");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString PHONE = new SerializedString("phone");
+    private static final SerializedString ADDRESS = new SerializedString("address");
+    private static final SerializedString CITY = new SerializedString("city");
+    private static final SerializedString QUARTER = new SerializedString("quarter");
+
+    public CatalogJsonModule() {
+        super("CatalogJsonModule");
+        addSerializer(Product.class, new Writer<>(Product.class, CatalogJsonModule::writeProduct));
+        addSerializer(ProductResponse.class, new Writer<>(ProductResponse.class, CatalogJsonModule::writeProductResponse));
+        addSerializer(OrderResponse.class, new Writer<>(OrderResponse.class, CatalogJsonModule::writeOrder));
+        addSerializer(OrderItemResponse.class, new Writer<>(OrderItemResponse.class, CatalogJsonModule::writeOrderItem));
+        addSerializer(CustomerInfo.class, new Writer<>(CustomerInfo.class, CatalogJsonModule::writeCustomerInfo));
+    }
+
+    static void writeProductResponse(ProductResponse response, JsonGenerator g, SerializerProvider provider)
+            throws IOException {
+        g.writeStartObject(response);
+        g.writeFieldName(PRODUCTS);
+        List<Product> products = response.getProducts();
+        if (products == null) {
+            g.writeNull();
+        } else {
+            g.writeStartArray(products, products.size());
+            for (Product product : products) {
+                if (product == null) {
+                    g.writeNull();
+                } else {
+                    writeProduct(product, response.getFields(), g, provider);
+                }
+            }
+            g.writeEndArray();
+        }
+        g.writeFieldName(COUNT);
+        g.writeNumber(response.getCount());
+        g.writeEndObject();
+    }
+
+    static void writeProduct(Product product, JsonGenerator g, SerializerProvider provider) throws IOException {
+        writeProduct(product, null, g, provider);
+    }
+
+    // fields: the ?fields= selection, null for every field; the id is always written
+    static void writeProduct(Product product, Set<ProductField> fields, JsonGenerator g, SerializerProvider provider)
+            throws IOException {
+        g.writeStartObject(product);
+        g.writeFieldName(ID);
+        writeNumber(g, product.getId());
+        if (fields == null || fields.contains(ProductField.NAME)) {
+            g.writeFieldName(NAME);
+            g.writeString(product.getName());
+        }
+        if (fields == null || fields.contains(ProductField.DESCRIPTION)) {
+            g.writeFieldName(DESCRIPTION);
+            g.writeString(product.getDescription());
+        }
+        if (fields == null || fields.contains(ProductField.PRICE)) {
+            g.writeFieldName(PRICE);
+            writeNumber(g, product.getPrice());
+        }
+        if (fields == null || fields.contains(ProductField.IMAGES)) {
+            g.writeFieldName(IMAGES);
+            writeStrings(g, product.getImages());
+        }
+        if (fields == null || fields.contains(ProductField.IMAGE_VARIANTS)) {
+            g.writeFieldName(IMAGE_VARIANTS);
+            writeImageVariants(g, product.getImageVariants());
+        }
+        if (fields == null || fields.contains(ProductField.CATEGORY)) {
+            g.writeFieldName(CATEGORY);
+            g.writeString(product.getCategory());
+        }
+        if (fields == null || fields.contains(ProductField.WARRANTY)) {
+            g.writeFieldName(WARRANTY);
+            g.writeString(product.getWarranty());
+        }
+        if (fields == null || fields.contains(ProductField.CREATED_AT)) {
+            g.writeFieldName(CREATED_AT);
+            writeDateTime(g, provider, product.getCreatedAt());
+        }
+        if (fields == null || fields.contains(ProductField.UPDATED_AT)) {
+            g.writeFieldName(UPDATED_AT);
+            writeDateTime(g, provider, product.getUpdatedAt());
+        }
+        g.writeEndObject();
+    }
+
+    static void writeOrder(OrderResponse order, JsonGenerator g, SerializerProvider provider) throws IOException {
+        Set<OrderField> fields = order.getFields();
+        g.writeStartObject(order);
+        g.writeFieldName(ID);
+        g.writeString(order.getId());
+        if (fields == null || fields.contains(OrderField.CUSTOMER_INFO)) {
+            g.writeFieldName(CUSTOMER_INFO);
+            if (order.getCustomerInfo() == null) {
+                g.writeNull();
+            } else {
+                writeCustomerInfo(order.getCustomerInfo(), g, provider);
+            }
+        }
+        if (fields == null || fields.contains(OrderField.ITEMS)) {
+            g.writeFieldName(ITEMS);
+            List<OrderItemResponse> items = order.getItems();
+            if (items == null) {
+                g.writeNull();
+            } else {
+                g.writeStartArray(items, items.size());
+                for (OrderItemResponse item : items) {
+                    if (item == null) {
+                        g.writeNull();
+                    } else {
+                        writeOrderItem(item, g, provider);
+                    }
+                }
+                g.writeEndArray();
+            }
+        }
+        if (fields == null || fields.contains(OrderField.TOTAL)) {
+            g.writeFieldName(TOTAL);
+            writeNumber(g, order.getTotal());
+        }
+        if (fields == null || fields.contains(OrderField.STATUS)) {
+            g.writeFieldName(STATUS);
+            g.writeString(order.getStatus() != null ? order.getStatus().getValue() : null);
+        }
+        if (fields == null || fields.contains(OrderField.CREATED_AT)) {
+            g.writeFieldName(CREATED_AT);
+            writeDateTime(g, provider, order.getCreatedAt());
+        }
+        g.writeEndObject();
+    }
+
+    static void writeOrderItem(OrderItemResponse item, JsonGenerator g, SerializerProvider provider) throws IOException {
+        g.writeStartObject(item);
+        g.writeFieldName(PRODUCT);
+        ProductOrderItemResponse product = item.getProduct();
+        if (product == null) {
+            g.writeNull();
+        } else {
+            g.writeStartObject(product);
+            g.writeFieldName(ID);
+            writeNumber(g, product.getId());
+            g.writeFieldName(NAME);
+            g.writeString(product.getName());
+            g.writeFieldName(DESCRIPTION);
+            g.writeString(product.getDescription());
+            g.writeFieldName(PRICE);
+            writeNumber(g, product.getPrice());
+            g.writeFieldName(IMAGES);
+            writeStrings(g, product.getImages());
+            g.writeFieldName(CATEGORY);
+            g.writeString(product.getCategory());
+            g.writeFieldName(WARRANTY);
+            g.writeString(product.getWarranty());
+            g.writeFieldName(CREATED_AT);
+            writeDateTime(g, provider, product.getCreatedAt());
+            g.writeFieldName(UPDATED_AT);
+            writeDateTime(g, provider, product.getUpdatedAt());
+            g.writeEndObject();
+        }
+        g.writeFieldName(QUANTITY);
+        writeNumber(g, item.getQuantity());
+        g.writeEndObject();
+    }
+
+    static void writeCustomerInfo(CustomerInfo customer, JsonGenerator g, SerializerProvider provider) throws IOException {
+        g.writeStartObject(customer);
+        g.writeFieldName(FIRST_NAME);
+        g.writeString(customer.getFirstName());
+        g.writeFieldName(LAST_NAME);
+        g.writeString(customer.getLastName());
+        g.writeFieldName(PHONE);
+        g.writeString(customer.getPhone());
+        g.writeFieldName(ADDRESS);
+        g.writeString(customer.getAddress());
+        g.writeFieldName(CITY);
+        g.writeString(customer.getCity());
+        g.writeFieldName(QUARTER);
+        g.writeString(customer.getQuarter());
+        g.writeEndObject();
+    }
+
+    private static void writeImageVariants(JsonGenerator g, List<ProductImageVariant> variants) throws IOException {
+        if (variants == null) {
+            g.writeNull();
+            return;
+        }
+        g.writeStartArray(variants, variants.size());
+        for (ProductImageVariant variant : variants) {
+            if (variant == null) {
+                g.writeNull();
+                continue;
+            }
+            g.writeStartObject(variant);
+            g.writeFieldName(IMAGE_URL);
+            g.writeString(variant.getImageUrl());
+            g.writeFieldName(WIDTH);
+            writeNumber(g, variant.getWidth());
+            g.writeFieldName(URL);
+            g.writeString(variant.getUrl());
+            g.writeEndObject();
+        }
+        g.writeEndArray();
+    }
+
+    private static void writeStrings(JsonGenerator g, List<String> values) throws IOException {
+        if (values == null) {
+            g.writeNull();
+            return;
+        }
+        g.writeStartArray(values, values.size());
+        for (String value : values) {
+            g.writeString(value);
+        }
+        g.writeEndArray();
+    }
+
+    private static void writeNumber(JsonGenerator g, Long value) throws IOException {
+        if (value == null) {
+            g.writeNull();
+        } else {
+            g.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator g, Integer value) throws IOException {
+        if (value == null) {
+            g.writeNull();
+        } else {
+            g.writeNumber(value.intValue());
+        }
+    }
+
+    // Same text as DateTimeFormatter.ISO_LOCAL_DATE_TIME (what the JavaTimeModule writes when Boot turns
+    // timestamps off): seconds always present, fraction only when non-zero and without trailing zeros
+    static void writeDateTime(JsonGenerator g, SerializerProvider provider, LocalDateTime value) throws IOException {
+        if (value == null) {
+            g.writeNull();
+            return;
+        }
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value, g);
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            g.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        char[] text = new char[29];
+        digits(text, 0, year, 4);
+        text[4] = '-';
+        digits(text, 5, value.getMonthValue(), 2);
+        text[7] = '-';
+        digits(text, 8, value.getDayOfMonth(), 2);
+        text[10] = 'T';
+        digits(text, 11, value.getHour(), 2);
+        text[13] = ':';
+        digits(text, 14, value.getMinute(), 2);
+        text[16] = ':';
+        digits(text, 17, value.getSecond(), 2);
+        int length = 19;
+        int nano = value.getNano();
+        if (nano != 0) {
+            text[19] = '.';
+            digits(text, 20, nano, 9);
+            length = 29;
+            while (text[length - 1] == '0') {
+                length--;
+            }
+        }
+        g.writeString(text, 0, length);
+    }
+
+    private static void digits(char[] text, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    @FunctionalInterface
+    interface ValueWriter<T> {
+        void write(T value, JsonGenerator generator, SerializerProvider provider) throws IOException;
+    }
+
+    private static final class Writer<T> extends StdSerializer<T> {
+        private final ValueWriter<T> writer;
+
+        private Writer(Class<T> type, ValueWriter<T> writer) {
+            super(type);
+            this.writer = writer;
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writer.write(value, generator, provider);
+        }
+    }
+}
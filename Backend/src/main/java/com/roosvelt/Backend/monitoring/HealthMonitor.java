@@ -0,0 +1,156 @@
+package com.roosvelt.Backend.monitoring;
+
+import com.roosvelt.Backend.storage.ImageStorage;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Readiness computed in the background, so a probe only reads the last result and never waits for a
+// pool connection behind real traffic. Not ready when the database is down, when the pool has been
+// saturated (all connections busy and requests waiting) for several checks in a row, or when the last
+// check is too old. Image storage is reported, and only fails readiness if health.image-storage.required.
+@Slf4j
+@Component
+public class HealthMonitor {
+
+    @Autowired
+    private HikariDataSource pool;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Value("${health.max-age-ms:30000}")
+    private long maxAgeMs;
+
+    @Value("${health.pool.saturated-checks:3}")
+    private int saturatedChecks;
+
+    @Value("${health.image-storage.check-interval-ms:60000}")
+    private long imageStorageIntervalMs;
+
+    @Value("${health.image-storage.required:false}")
+    private boolean imageStorageRequired;
+
+    private volatile Map<String, Object> status = Map.of("status", "DOWN", "reason", "not checked yet");
+    private volatile boolean ready;
+    private volatile long checkedAt;
+
+    private int consecutiveSaturated;
+    private Map<String, Object> database = Map.of("status", "UNKNOWN");
+    private Map<String, Object> storage = Map.of("status", "UNKNOWN");
+    private long storageCheckedAt;
+
+    @Scheduled(fixedDelayString = "${health.check-interval-ms:5000}")
+    public void refresh() {
+        Map<String, Object> poolStatus = checkPool();
+        boolean poolUp = "UP".equals(poolStatus.get("status"));
+        // A saturated pool would make this check queue like any request: keep the last database result
+        if (consecutiveSaturated == 0) {
+            database = checkDatabase();
+        }
+        long now = System.currentTimeMillis();
+        if (now - storageCheckedAt >= imageStorageIntervalMs) {
+            storage = checkImageStorage();
+            storageCheckedAt = now;
+        }
+
+        boolean databaseUp = "UP".equals(database.get("status"));
+        boolean storageUp = "UP".equals(storage.get("status"));
+        boolean isReady = databaseUp && poolUp && (storageUp || !imageStorageRequired);
+        if (isReady && !ready) {
+            log.info("Ready: database={}, pool={}, imageStorage={}", database, poolStatus, storage);
+        } else if (!isReady && ready) {
+            log.warn("Not ready: database={}, pool={}, imageStorage={}", database, poolStatus, storage);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", isReady ? "UP" : "DOWN");
+        result.put("checkedAt", Instant.ofEpochMilli(now).toString());
+        result.put("database", database);
+        result.put("pool", poolStatus);
+        result.put("imageStorage", storage);
+        status = Collections.unmodifiableMap(result);
+        ready = isReady;
+        checkedAt = now;
+    }
+
+    public boolean isReady() {
+        return ready && !isStale();
+    }
+
+    public Map<String, Object> getStatus() {
+        if (ready && isStale()) {
+            Map<String, Object> stale = new LinkedHashMap<>(status);
+            stale.put("status", "DOWN");
+            stale.put("reason", "last check older than " + maxAgeMs + " ms");
+            return stale;
+        }
+        return status;
+    }
+
+    private boolean isStale() {
+        return System.currentTimeMillis() - checkedAt > maxAgeMs;
+    }
+
+    private Map<String, Object> checkPool() {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (mxBean == null) {
+            // Hikari starts the pool on the first connection
+            consecutiveSaturated = 0;
+            result.put("status", "UP");
+            return result;
+        }
+        int active = mxBean.getActiveConnections();
+        int waiting = mxBean.getThreadsAwaitingConnection();
+        int max = pool.getMaximumPoolSize();
+        consecutiveSaturated = active >= max && waiting > 0 ? consecutiveSaturated + 1 : 0;
+        result.put("status", consecutiveSaturated >= saturatedChecks ? "DOWN" : "UP");
+        result.put("active", active);
+        result.put("max", max);
+        result.put("waiting", waiting);
+        return result;
+    }
+
+    private Map<String, Object> checkDatabase() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        try (Connection connection = pool.getConnection()) {
+            if (connection.isValid(2)) {
+                result.put("status", "UP");
+            } else {
+                result.put("status", "DOWN");
+                result.put("error", "Database connection invalid");
+            }
+        } catch (Exception e) {
+            result.put("status", "DOWN");
+            result.put("error", e.getMessage());
+        }
+        return result;
+    }
+
+    private Map<String, Object> checkImageStorage() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        try {
+            imageStorage.checkReachable();
+            result.put("status", "UP");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.put("status", "DOWN");
+            result.put("error", "interrupted");
+        } catch (Exception e) {
+            result.put("status", "DOWN");
+            result.put("error", e.getMessage());
+        }
+        return result;
+    }
+}
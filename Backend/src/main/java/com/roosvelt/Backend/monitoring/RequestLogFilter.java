@@ -0,0 +1,117 @@
+package com.roosvelt.Backend.monitoring;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// One log event per request (route, status, latency, SQL count) instead of several lines per service call.
+// Successes are sampled when the request starts; errors and slow requests are always logged, at WARN so the
+// async appender keeps them when it discards INFO under load (it still drops every level once the queue is full,
+// since it never blocks a request thread). Event streams stay open by design, so they are never counted as slow.
+// Key-values end up as fields with the structured-logs profile.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger("http.requests");
+
+    @Value("${request-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${request-log.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${request-log.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean sampled = sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (failure == null && request.isAsyncStarted()) {
+                // Uploads, exports and streams finish on another thread: log once the response is complete
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        logRequest(request, response, start, sampled, null);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                logRequest(request, response, start, sampled, failure);
+            }
+        }
+    }
+
+    private void logRequest(HttpServletRequest request, HttpServletResponse response, long start, boolean sampled,
+                            Throwable failure) {
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        int status = failure != null ? 500 : response.getStatus();
+        boolean error = status >= 500;
+        boolean slow = durationMs >= slowThresholdMs && !isEventStream(response);
+        if (!sampled && !error && !slow) {
+            return;
+        }
+
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object statements = request.getAttribute(StatementBudgetInterceptor.STATEMENTS_ATTRIBUTE);
+        Object sqlTimeMs = request.getAttribute(StatementBudgetInterceptor.TIME_ATTRIBUTE);
+        LoggingEventBuilder event = (error || slow ? log.atWarn() : log.atInfo())
+                .addKeyValue("http.method", request.getMethod())
+                .addKeyValue("http.route", route != null ? route : "unmatched")
+                .addKeyValue("http.status", status)
+                .addKeyValue("duration_ms", durationMs)
+                .addKeyValue("sql.statements", statements != null ? statements : 0)
+                .addKeyValue("sql.time_ms", sqlTimeMs != null ? sqlTimeMs : 0)
+                .addKeyValue("sampled", sampled);
+        if (failure != null) {
+            event = event.setCause(failure);
+        }
+        event.log("{} {} {} {} ms, {} SQL", request.getMethod(), route != null ? route : request.getRequestURI(),
+                status, durationMs, statements != null ? statements : 0);
+    }
+
+    private static boolean isEventStream(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+}
@@ -0,0 +1,31 @@
+package com.roosvelt.Backend.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Registered for every Hibernate session through hibernate.session.events.auto; one instance per session.
+// A JDBC batch counts as one statement: it is one round trip.
+public class SqlStatementListener extends BaseSessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementStats.record(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementStats.record(System.nanoTime() - batchStart);
+    }
+}
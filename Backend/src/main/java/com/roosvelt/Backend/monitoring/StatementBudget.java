@@ -0,0 +1,15 @@
+package com.roosvelt.Backend.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Maximum SQL statements one call of a controller method should need; above it a warning is logged.
+// Routes without it use sql.budget.default-statements.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int value();
+}
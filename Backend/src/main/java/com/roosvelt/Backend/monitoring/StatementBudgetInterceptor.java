@@ -0,0 +1,88 @@
+package com.roosvelt.Backend.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+// Counts the SQL statements of each request, publishes them per route and warns when a route
+// goes over its budget: the usual sign of an N+1 (one query per row of a list).
+@Slf4j
+@Component
+public class StatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String STATEMENTS_ATTRIBUTE = "sql.statements";
+    public static final String TIME_ATTRIBUTE = "sql.time.ms";
+    public static final String BUDGET_ATTRIBUTE = "sql.budget";
+
+    @Value("${sql.budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sql.budget.default-statements:20}")
+    private int defaultBudget;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (enabled && handler instanceof HandlerMethod) {
+            SqlStatementStats.start();
+        }
+        return true;
+    }
+
+    // The handler continues on another thread, which this thread-local cannot follow
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementStats.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlStatementStats stats = SqlStatementStats.stop();
+        if (stats == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        String uri = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        request.setAttribute(STATEMENTS_ATTRIBUTE, stats.getStatements());
+        request.setAttribute(TIME_ATTRIBUTE, stats.getMillis());
+        int budget = budgetFor(handlerMethod, defaultBudget);
+        request.setAttribute(BUDGET_ATTRIBUTE, budget);
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent executing SQL per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() > budget) {
+            log.warn("{} {} ran {} SQL statements in {} ms, budget is {}",
+                    request.getMethod(), uri, stats.getStatements(), stats.getMillis(), budget);
+        } else {
+            log.debug("{} {} ran {} SQL statements in {} ms", request.getMethod(), uri, stats.getStatements(), stats.getMillis());
+        }
+    }
+
+    public static int budgetFor(HandlerMethod handlerMethod, int defaultBudget) {
+        StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+        return budget != null ? budget.value() : defaultBudget;
+    }
+}
@@ -0,0 +1,15 @@
+package com.roosvelt.Backend.repository;
+
+import com.roosvelt.Backend.entity.ImageVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Long> {
+
+    List<ImageVariant> findByOriginalUrlIn(Collection<String> originalUrls);
+
+    List<ImageVariant> findByOriginalUrl(String originalUrl);
+}
@@ -0,0 +1,142 @@
+package com.roosvelt.Backend.repository;
+
+import com.roosvelt.Backend.dto.OrderItemResponse;
+import com.roosvelt.Backend.dto.OrderResponse;
+import com.roosvelt.Backend.dto.ProductOrderItemResponse;
+import com.roosvelt.Backend.entity.CustomerInfo;
+import com.roosvelt.Backend.entity.Order;
+import com.roosvelt.Backend.fields.OrderField;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Commandes limitées aux champs demandés (?fields=) : seules les colonnes sélectionnées de orders sont lues,
+// et order_items n'est interrogée que si items est demandé. Le SQL est généré une fois par forme.
+@Repository
+public class OrderProjectionRepository {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final Map<String, Statements> statementsByShape = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    public List<OrderResponse> findAll(Set<OrderField> fields) {
+        return find("all", "", new MapSqlParameterSource(), fields);
+    }
+
+    public List<OrderResponse> findByCustomerPhone(String phone, Set<OrderField> fields) {
+        return find("phone", " WHERE o.phone = :phone", new MapSqlParameterSource("phone", phone), fields);
+    }
+
+    public List<OrderResponse> findById(String id, Set<OrderField> fields) {
+        return find("id", " WHERE o.id = :id", new MapSqlParameterSource("id", id), fields);
+    }
+
+    private List<OrderResponse> find(String kind, String where, MapSqlParameterSource params, Set<OrderField> fields) {
+        Statements statements = statementsByShape.computeIfAbsent(shape(kind, fields),
+                k -> buildStatements(where, fields));
+
+        Map<String, OrderResponse> orders = new LinkedHashMap<>();
+        jdbcTemplate.query(statements.orders, params, rs -> {
+            OrderResponse order = new OrderResponse();
+            order.setFields(fields);
+            order.setId(rs.getString("id"));
+            if (fields.contains(OrderField.CUSTOMER_INFO)) {
+                order.setCustomerInfo(new CustomerInfo(rs.getString("first_name"), rs.getString("last_name"),
+                        rs.getString("phone"), rs.getString("address"), rs.getString("city"), rs.getString("quarter")));
+            }
+            if (fields.contains(OrderField.TOTAL)) {
+                order.setTotal(rs.getObject("total", Integer.class));
+            }
+            if (fields.contains(OrderField.STATUS)) {
+                order.setStatus(Order.OrderStatus.valueOf(rs.getString("status")));
+            }
+            if (fields.contains(OrderField.CREATED_AT)) {
+                order.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+            }
+            if (fields.contains(OrderField.ITEMS)) {
+                order.setItems(new ArrayList<>());
+            }
+            orders.put(order.getId(), order);
+        });
+
+        if (statements.items != null && !orders.isEmpty()) {
+            jdbcTemplate.query(statements.items, params, rs -> {
+                OrderResponse order = orders.get(rs.getString("order_id"));
+                if (order == null) {
+                    return;
+                }
+                // Same content as ProductOrderItemResponse(OrderItem): the snapshot stored on the line
+                ProductOrderItemResponse product = new ProductOrderItemResponse();
+                product.setId(rs.getObject("product_id", Long.class));
+                product.setName(rs.getString("product_name"));
+                product.setPrice(rs.getObject("unit_price", Integer.class));
+                product.setCategory(rs.getString("product_category"));
+                String image = rs.getString("product_image");
+                product.setImages(image != null ? List.of(image) : List.of());
+                product.setDescription(rs.getString("product_description"));
+                product.setWarranty(rs.getString("product_warranty"));
+                product.setCreatedAt(rs.getObject("product_created_at", LocalDateTime.class));
+                product.setUpdatedAt(rs.getObject("product_updated_at", LocalDateTime.class));
+                OrderItemResponse item = new OrderItemResponse();
+                item.setProduct(product);
+                item.setQuantity(rs.getObject("quantity", Integer.class));
+                order.getItems().add(item);
+            });
+        }
+        return new ArrayList<>(orders.values());
+    }
+
+    private static Statements buildStatements(String where, Set<OrderField> fields) {
+        StringBuilder columns = new StringBuilder("o.id");
+        for (OrderField field : fields) {
+            if (field != OrderField.ID && field.getColumns() != null) {
+                columns.append(", ").append(field.getColumns());
+            }
+        }
+        String orders = "SELECT " + columns + " FROM orders o" + where + " ORDER BY o.created_at DESC";
+        String items = fields.contains(OrderField.ITEMS)
+                ? "SELECT oi.order_id, oi.product_id, oi.product_name, oi.unit_price, oi.product_category, "
+                        + "oi.product_image, oi.product_description, oi.product_warranty, oi.product_created_at, "
+                        + "oi.product_updated_at, oi.quantity FROM orders o JOIN order_items oi ON oi.order_id = o.id"
+                        + where + " ORDER BY oi.id"
+                : null;
+        return new Statements(orders, items);
+    }
+
+    private static String shape(String kind, Set<OrderField> fields) {
+        int bits = 0;
+        for (OrderField field : fields) {
+            bits |= 1 << field.ordinal();
+        }
+        return kind + "/" + bits;
+    }
+
+    private static final class Statements {
+        private final String orders;
+        private final String items;
+
+        private Statements(String orders, String items) {
+            this.orders = orders;
+            this.items = items;
+        }
+    }
+}
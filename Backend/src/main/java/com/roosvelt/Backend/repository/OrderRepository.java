@@ -1,18 +1,28 @@
 package com.roosvelt.Backend.repository;
 
 import com.roosvelt.Backend.entity.Order;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
 
+    // Les lignes portent un snapshot du produit : commande + lignes en une seule requête
+    @EntityGraph(attributePaths = "items")
     @Query("SELECT o FROM Order o WHERE o.customerInfo.phone = :phone ORDER BY o.createdAt DESC")
     List<Order> findByCustomerPhone(@Param("phone") String phone);
 
+    @EntityGraph(attributePaths = "items")
     List<Order> findByStatusOrderByCreatedAtDesc(Order.OrderStatus status);
+
+    @EntityGraph(attributePaths = "items")
     List<Order> findAllByOrderByCreatedAtDesc();
+
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsById(String id);
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.roosvelt.Backend.repository;
+
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.entity.ProductImageVariant;
+import com.roosvelt.Backend.fields.ProductField;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Requêtes du catalogue limitées aux champs demandés (?fields=) : seules les colonnes sélectionnées sont lues,
+// et les tables d'images ne sont interrogées que si images / imageVariants sont demandés. Le SQL est généré
+// une fois par forme (requête, filtres présents, tri, champs) puis réutilisé. Les produits renvoyés ne sont
+// pas gérés par JPA : seuls les champs sélectionnés sont remplis.
+@Repository
+public class ProductProjectionRepository {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final Map<String, Statements> statementsByShape = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    public List<Product> findAll(String sortBy, Set<ProductField> fields) {
+        return find("all", new MapSqlParameterSource(), sortBy, fields);
+    }
+
+    public List<Product> search(String query, String sortBy, Set<ProductField> fields) {
+        return find("search", new MapSqlParameterSource("query", query), sortBy, fields);
+    }
+
+    public List<Product> filter(String category, Integer minPrice, Integer maxPrice, String search, String sortBy,
+                                Set<ProductField> fields) {
+        // Only the filters that are present go into the SQL (and into the shape)
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder kind = new StringBuilder("filter");
+        if (category != null) {
+            params.addValue("category", category);
+            kind.append(":category");
+        }
+        if (minPrice != null) {
+            params.addValue("minPrice", minPrice);
+            kind.append(":minPrice");
+        }
+        if (maxPrice != null) {
+            params.addValue("maxPrice", maxPrice);
+            kind.append(":maxPrice");
+        }
+        if (search != null) {
+            params.addValue("query", search);
+            kind.append(":search");
+        }
+        return find(kind.toString(), params, sortBy, fields);
+    }
+
+    private List<Product> find(String kind, MapSqlParameterSource params, String sortBy, Set<ProductField> fields) {
+        String sort = normalizeSort(sortBy);
+        Statements statements = statementsByShape.computeIfAbsent(shape(kind, sort, fields),
+                k -> buildStatements(kind, sort, fields));
+
+        Map<Long, Product> products = new LinkedHashMap<>();
+        jdbcTemplate.query(statements.products, params, rs -> {
+            Product product = new Product();
+            product.setId(rs.getLong("id"));
+            if (fields.contains(ProductField.NAME)) {
+                product.setName(rs.getString("name"));
+            }
+            if (fields.contains(ProductField.DESCRIPTION)) {
+                product.setDescription(rs.getString("description"));
+            }
+            if (fields.contains(ProductField.PRICE)) {
+                product.setPrice(rs.getObject("price", Integer.class));
+            }
+            if (fields.contains(ProductField.CATEGORY)) {
+                product.setCategory(rs.getString("category"));
+            }
+            if (fields.contains(ProductField.WARRANTY)) {
+                product.setWarranty(rs.getString("warranty"));
+            }
+            if (fields.contains(ProductField.CREATED_AT)) {
+                product.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+            }
+            if (fields.contains(ProductField.UPDATED_AT)) {
+                product.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+            }
+            if (fields.contains(ProductField.IMAGES)) {
+                product.setImages(new ArrayList<>());
+            }
+            if (fields.contains(ProductField.IMAGE_VARIANTS)) {
+                product.setImageVariants(new ArrayList<>());
+            }
+            products.put(product.getId(), product);
+        });
+
+        if (statements.images != null && !products.isEmpty()) {
+            jdbcTemplate.query(statements.images, params, rs -> {
+                Product product = products.get(rs.getLong("product_id"));
+                if (product != null) {
+                    product.getImages().add(rs.getString("image_url"));
+                }
+            });
+        }
+        if (statements.imageVariants != null && !products.isEmpty()) {
+            jdbcTemplate.query(statements.imageVariants, params, rs -> {
+                Product product = products.get(rs.getLong("product_id"));
+                if (product != null) {
+                    product.getImageVariants().add(new ProductImageVariant(rs.getString("image_url"),
+                            rs.getObject("width", Integer.class), rs.getString("variant_url")));
+                }
+            });
+        }
+        return new ArrayList<>(products.values());
+    }
+
+    private static Statements buildStatements(String kind, String sort, Set<ProductField> fields) {
+        StringBuilder columns = new StringBuilder("p.id");
+        for (ProductField field : fields) {
+            if (field != ProductField.ID && field.getColumn() != null) {
+                columns.append(", ").append(field.getColumn());
+            }
+        }
+        String where = where(kind);
+        String products = "SELECT " + columns + " FROM products p" + where + " ORDER BY " + orderBy(sort) + ", p.id";
+        String images = fields.contains(ProductField.IMAGES)
+                ? "SELECT pi.product_id, pi.image_url FROM products p JOIN product_images pi ON pi.product_id = p.id" + where
+                : null;
+        String imageVariants = fields.contains(ProductField.IMAGE_VARIANTS)
+                ? "SELECT v.product_id, v.image_url, v.width, v.variant_url FROM products p "
+                        + "JOIN product_image_variants v ON v.product_id = p.id" + where
+                : null;
+        return new Statements(products, images, imageVariants);
+    }
+
+    // Mêmes conditions que les requêtes natives de ProductRepository
+    private static String where(String kind) {
+        List<String> conditions = new ArrayList<>();
+        if (kind.contains(":category")) {
+            conditions.add("LOWER(p.category) = LOWER(:category)");
+        }
+        if (kind.contains(":minPrice")) {
+            conditions.add("p.price >= :minPrice");
+        }
+        if (kind.contains(":maxPrice")) {
+            conditions.add("p.price <= :maxPrice");
+        }
+        if (kind.equals("search") || kind.contains(":search")) {
+            conditions.add("(LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) OR "
+                    + "LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%')))");
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static String orderBy(String sort) {
+        return switch (sort) {
+            case "price_desc" -> "p.price DESC";
+            case "name_asc" -> "p.name ASC";
+            case "name_desc" -> "p.name DESC";
+            default -> "p.price ASC";
+        };
+    }
+
+    private static String normalizeSort(String sortBy) {
+        return switch (sortBy == null ? "" : sortBy) {
+            case "price_desc", "name_asc", "name_desc" -> sortBy;
+            default -> "price_asc";
+        };
+    }
+
+    private static String shape(String kind, String sort, Set<ProductField> fields) {
+        int bits = 0;
+        for (ProductField field : fields) {
+            bits |= 1 << field.ordinal();
+        }
+        return kind + "/" + sort + "/" + bits;
+    }
+
+    private static final class Statements {
+        private final String products;
+        private final String images;
+        private final String imageVariants;
+
+        private Statements(String products, String images, String imageVariants) {
+            this.products = products;
+            this.images = images;
+            this.imageVariants = imageVariants;
+        }
+    }
+}
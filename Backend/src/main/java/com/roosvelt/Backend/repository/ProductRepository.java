@@ -1,19 +1,27 @@
 package com.roosvelt.Backend.repository;
 
 import com.roosvelt.Backend.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
-    // Méthodes de tri par défaut
+    // Méthodes de tri par défaut (résultats dans le cache de requêtes, vidé à chaque écriture sur products)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Product> findAllByOrderByPriceAsc();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Product> findAllByOrderByPriceDesc();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Product> findAllByOrderByNameAsc();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Product> findAllByOrderByNameDesc();
 
     // Méthodes de recherche avec tri
@@ -67,6 +75,10 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                                  @Param("sortBy") String sortBy);
 
     List<Product> findByCategory(String category);
+
+    // Produits d'une commande avec leurs images, en une seule requête (photo de la ligne de commande)
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images WHERE p.id IN :ids")
+    List<Product> findAllWithImagesByIdIn(@Param("ids") Collection<Long> ids);
     
     // Méthode de recherche par défaut (utilisée par le contrôleur)
     @Query(value = "SELECT * FROM products p WHERE " +
@@ -0,0 +1,61 @@
+package com.roosvelt.Backend.repository;
+
+import com.roosvelt.Backend.entity.StoredImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredImageRepository extends JpaRepository<StoredImage, String> {
+
+    // Images nobody uploaded since the cutoff that no product and no order line snapshot points to anymore,
+    // leaving out those whose last failed delete is more recent than retryCutoff
+    @Query(value = "SELECT * FROM stored_images s WHERE COALESCE(s.last_acquired_at, s.created_at) < :cutoff " +
+            "AND (s.gc_failed_at IS NULL OR s.gc_failed_at < :retryCutoff) " +
+            "AND NOT EXISTS (SELECT 1 FROM product_images pi WHERE pi.image_url = s.url) " +
+            "AND NOT EXISTS (SELECT 1 FROM order_items oi WHERE oi.product_image = s.url) " +
+            "ORDER BY COALESCE(s.last_acquired_at, s.created_at) LIMIT :limit",
+            nativeQuery = true)
+    List<StoredImage> findOrphans(@Param("cutoff") LocalDateTime cutoff, @Param("retryCutoff") LocalDateTime retryCutoff,
+                                  @Param("limit") int limit);
+
+    // Le collecteur réserve l'image en supprimant la ligne, seulement si elle est toujours orpheline :
+    // un upload ou un produit qui l'a reprise entre-temps la garde
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM stored_images s WHERE s.sha256 = :sha256 " +
+            "AND COALESCE(s.last_acquired_at, s.created_at) < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM product_images pi WHERE pi.image_url = s.url) " +
+            "AND NOT EXISTS (SELECT 1 FROM order_items oi WHERE oi.product_image = s.url)",
+            nativeQuery = true)
+    int deleteIfOrphan(@Param("sha256") String sha256, @Param("cutoff") LocalDateTime cutoff);
+
+    boolean existsBySize(Long size);
+
+    @Query("SELECT s FROM StoredImage s WHERE s.fileId = :key OR s.url = :key")
+    Optional<StoredImage> findByFileIdOrUrl(@Param("key") String key);
+
+    // Les compteurs sont modifiés en base, de façon atomique : pas de lecture-modification-écriture
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredImage s SET s.referenceCount = s.referenceCount + 1, s.lastAcquiredAt = CURRENT_TIMESTAMP " +
+            "WHERE s.sha256 = :sha256")
+    int incrementReferences(@Param("sha256") String sha256);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredImage s SET s.referenceCount = s.referenceCount - 1 WHERE s.sha256 = :sha256 AND s.referenceCount > 0")
+    int decrementReferences(@Param("sha256") String sha256);
+
+    // Only succeeds while nobody re-acquired the image, so a concurrent duplicate upload keeps its file
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StoredImage s WHERE s.sha256 = :sha256 AND s.referenceCount = 0")
+    int deleteIfUnreferenced(@Param("sha256") String sha256);
+}
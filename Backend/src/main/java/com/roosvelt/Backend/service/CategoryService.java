@@ -1,10 +1,14 @@
 package com.roosvelt.Backend.service;
 
+import com.roosvelt.Backend.datasource.ReadYourWritesGuard;
 import com.roosvelt.Backend.entity.Category;
 import com.roosvelt.Backend.exception.ResourceNotFoundException;
+import com.roosvelt.Backend.invalidation.CacheChange;
 import com.roosvelt.Backend.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
@@ -13,17 +17,30 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    // Category writes are announced to the other instances (see invalidation.InvalidationPublisher)
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReadYourWritesGuard readYourWritesGuard;
+
+    @Transactional(readOnly = true)
     public List<Category> getAllCategories() {
+        readYourWritesGuard.routeToPrimaryIfPinned(ReadYourWritesGuard.CATALOG);
         return categoryRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Category getCategoryById(String id) {
+        readYourWritesGuard.routeToPrimaryIfPinned(ReadYourWritesGuard.CATALOG);
         return categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
     }
 
     public Category createCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        announce(saved.getId());
+        return saved;
     }
 
     public Category updateCategory(String id, Category categoryDetails) {
@@ -33,12 +50,21 @@ public class CategoryService {
             category.setName(categoryDetails.getName());
         }
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        announce(id);
+        return saved;
     }
 
     public void deleteCategory(String id) {
         Category category = getCategoryById(id);
         categoryRepository.delete(category);
+        announce(id);
+    }
+
+    // Here and, once committed, on the other instances
+    private void announce(String id) {
+        eventPublisher.publishEvent(new CacheChange(CacheChange.Entity.CATEGORY, id));
+        readYourWritesGuard.pin(ReadYourWritesGuard.CATALOG);
     }
 }
 
@@ -0,0 +1,187 @@
+package com.roosvelt.Backend.service;
+
+import com.roosvelt.Backend.dto.ImageUploadResult;
+import com.roosvelt.Backend.dto.UploadedImage;
+import com.roosvelt.Backend.entity.StoredImage;
+import com.roosvelt.Backend.repository.StoredImageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+// Content-addressed image uploads: content that is already stored returns the existing URL with one more
+// reference instead of being kept twice. Each upload gets a file name of its own, so a stored file belongs to
+// exactly one stored image and deleting it never affects another upload of the same bytes.
+@Service
+public class ImageLibraryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageLibraryService.class);
+
+    @Value("${images.dedup.cache-size:10000}")
+    private int cacheSize;
+
+    @Autowired
+    private ImageUploadService imageUploadService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private StoredImageRepository storedImageRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // sha256 -> stored image, LRU bounded; reference counts always live in the database
+    private Map<String, UploadedImage> cache;
+    private Counter duplicateUploads;
+
+    @PostConstruct
+    public void initialize() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UploadedImage> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        duplicateUploads = Counter.builder("images.dedup.hits")
+                .description("Uploads answered with an already stored image")
+                .register(meterRegistry);
+    }
+
+    // Content of a size nothing stored has cannot be a duplicate: it is hashed while it uploads, in a single
+    // read of the temp file. Otherwise it is hashed first, so a duplicate is answered without any upload.
+    // May throw RejectedExecutionException (directly or through the future) when the upload pool is full
+    public CompletableFuture<UploadedImage> upload(MultipartFile file, String extension) {
+        if (!storedImageRepository.existsBySize(file.getSize())) {
+            return uploadContent(file, extension);
+        }
+        return imageUploadService.sha256Async(file).thenCompose(sha256 -> {
+            UploadedImage existing = acquire(sha256);
+            if (existing != null) {
+                duplicateUploads.increment();
+                return CompletableFuture.completedFuture(existing);
+            }
+            return uploadContent(file, extension);
+        });
+    }
+
+    private CompletableFuture<UploadedImage> uploadContent(MultipartFile file, String extension) {
+        String fileName = UUID.randomUUID() + "." + extension;
+        CompletableFuture<ImageUploadResult> upload = imageUploadService.uploadAsync(file, fileName);
+        CompletableFuture<Map<Integer, ImageUploadResult>> variants =
+                imageVariantService.createVariantsAsync(file, fileName, extension);
+        // Variants never fail; if the original does, the variants already uploaded would only leak
+        return variants.thenCompose(storedVariants -> upload
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        imageVariantService.discardVariants(storedVariants);
+                    }
+                })
+                .thenApply(result -> register(file.getSize(), result, storedVariants)));
+    }
+
+    private UploadedImage register(long size, ImageUploadResult result, Map<Integer, ImageUploadResult> storedVariants) {
+        String sha256 = result.getSha256();
+        try {
+            storedImageRepository.saveAndFlush(new StoredImage(sha256, result.getUrl(), result.getFileId(),
+                    size, result.getWidth(), result.getHeight()));
+        } catch (DataIntegrityViolationException e) {
+            // The same content was stored meanwhile, here or on another instance: keep that copy, drop ours
+            logger.info("Image {} was stored concurrently, reusing the existing copy", sha256);
+            discard(result, storedVariants);
+            UploadedImage existing = acquire(sha256);
+            if (existing == null) {
+                throw e;
+            }
+            duplicateUploads.increment();
+            return existing;
+        }
+        imageVariantService.saveVariants(result.getUrl(), storedVariants);
+
+        Map<Integer, String> variantUrls = new TreeMap<>();
+        storedVariants.forEach((width, variant) -> variantUrls.put(width, variant.getUrl()));
+        UploadedImage image = new UploadedImage(result.getUrl(), result.getFileId(), size,
+                result.getWidth(), result.getHeight(), variantUrls, false);
+        cache.put(sha256, image);
+        return image;
+    }
+
+    // Files uploaded for content that turned out to be stored already
+    private void discard(ImageUploadResult result, Map<Integer, ImageUploadResult> storedVariants) {
+        imageVariantService.discardVariants(storedVariants);
+        try {
+            if (result.getFileId() != null) {
+                imageUploadService.delete(result.getFileId());
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete duplicate upload {}: {}", result.getUrl(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while deleting duplicate upload {}", result.getUrl());
+        }
+    }
+
+    // Adds a reference to already stored content, or returns null if this content is not stored
+    private UploadedImage acquire(String sha256) {
+        UploadedImage cached = cache.get(sha256);
+        if (storedImageRepository.incrementReferences(sha256) == 0) {
+            cache.remove(sha256);
+            return null;
+        }
+        if (cached != null) {
+            return cached.asDuplicate();
+        }
+        Optional<StoredImage> stored = storedImageRepository.findById(sha256);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        StoredImage image = stored.get();
+        UploadedImage uploaded = new UploadedImage(image.getUrl(), image.getFileId(), image.getSize(),
+                image.getWidth(), image.getHeight(), imageVariantService.findVariantUrls(image.getUrl()), false);
+        cache.put(sha256, uploaded);
+        return uploaded.asDuplicate();
+    }
+
+    // Drops one reference (by file id or URL); the file and its variants are deleted with the last one.
+    // Returns false when storage refused the delete.
+    public boolean release(String fileIdOrUrl) throws IOException, InterruptedException {
+        Optional<StoredImage> stored = storedImageRepository.findByFileIdOrUrl(fileIdOrUrl);
+        if (stored.isEmpty()) {
+            // Uploaded before deduplication existed: not reference counted
+            return imageUploadService.delete(fileIdOrUrl);
+        }
+
+        StoredImage image = stored.get();
+        storedImageRepository.decrementReferences(image.getSha256());
+        cache.remove(image.getSha256());
+        if (storedImageRepository.deleteIfUnreferenced(image.getSha256()) == 0) {
+            logger.info("Image {} is still referenced, keeping the stored file", image.getUrl());
+            return true;
+        }
+
+        return deleteFiles(image);
+    }
+
+    // Deletes the files (original and variants) of an image whose row was just deleted. Nothing else can
+    // claim them: the same bytes uploaded again get files of their own. Returns false when storage refused.
+    public boolean deleteFiles(StoredImage image) throws IOException, InterruptedException {
+        imageVariantService.deleteVariants(image.getUrl());
+        return image.getFileId() == null || imageUploadService.delete(image.getFileId());
+    }
+}
@@ -0,0 +1,175 @@
+package com.roosvelt.Backend.service;
+
+import com.roosvelt.Backend.config.BoundedVirtualThreadExecutor;
+import com.roosvelt.Backend.dto.ImageUploadResult;
+import com.roosvelt.Backend.storage.ImageStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+@Service
+public class ImageUploadService {
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    @Value("${images.upload.concurrency:4}")
+    private int concurrency;
+
+    @Value("${images.upload.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Executor uploadExecutor;
+    private IntSupplier queuedUploads;
+    private Runnable shutdownUploads = () -> {};
+    private final AtomicInteger inFlightUploads = new AtomicInteger();
+    private Counter uploadedBytes;
+    private Timer uploadSuccessTimer;
+    private Timer uploadFailureTimer;
+
+    @PostConstruct
+    public void initialize() {
+        // Same limits in both modes: `concurrency` uploads run, `queueCapacity` wait, the rest is rejected
+        if (virtualThreads) {
+            BoundedVirtualThreadExecutor executor =
+                    new BoundedVirtualThreadExecutor("image-upload-", concurrency, queueCapacity);
+            uploadExecutor = executor;
+            queuedUploads = executor::getQueued;
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "image-upload-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            uploadExecutor = executor;
+            queuedUploads = () -> executor.getQueue().size();
+            shutdownUploads = executor::shutdown;
+        }
+
+        Gauge.builder("images.upload.inflight", inFlightUploads, AtomicInteger::get)
+                .description("Uploads currently being sent to storage")
+                .register(meterRegistry);
+        Gauge.builder("images.upload.queued", () -> queuedUploads.getAsInt())
+                .description("Uploads waiting for a free upload slot")
+                .register(meterRegistry);
+        uploadedBytes = Counter.builder("images.upload.bytes")
+                .description("Bytes uploaded to storage")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        uploadSuccessTimer = Timer.builder("images.upload.duration").tag("outcome", "success").register(meterRegistry);
+        uploadFailureTimer = Timer.builder("images.upload.duration").tag("outcome", "failure").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutdownUploads.run();
+    }
+
+    // Throws RejectedExecutionException right away when all upload slots and the queue are taken.
+    // The content is hashed as it streams to storage: the result carries its SHA-256
+    public CompletableFuture<ImageUploadResult> uploadAsync(MultipartFile file, String fileName) {
+        String contentType = file.getContentType() != null ? file.getContentType() : "application/octet-stream";
+        return CompletableFuture.supplyAsync(() -> {
+            MessageDigest digest = sha256Digest();
+            ImageUploadResult result = upload(() -> {
+                try {
+                    return new DigestInputStream(file.getInputStream(), digest);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, file.getSize(), contentType, fileName);
+            result.setSha256(HexFormat.of().formatHex(digest.digest()));
+            return result;
+        }, uploadExecutor);
+    }
+
+    // SHA-256 of the multipart temp file, read through a fixed buffer on the upload pool
+    public CompletableFuture<String> sha256Async(MultipartFile file) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (InputStream in = file.getInputStream()) {
+                MessageDigest digest = sha256Digest();
+                byte[] buffer = new byte[HASH_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+                return HexFormat.of().formatHex(digest.digest());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, uploadExecutor);
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public CompletableFuture<ImageUploadResult> uploadAsync(byte[] content, String contentType, String fileName) {
+        return CompletableFuture.supplyAsync(
+                () -> upload(() -> new ByteArrayInputStream(content), content.length, contentType, fileName), uploadExecutor);
+    }
+
+    private ImageUploadResult upload(Supplier<InputStream> content, long size, String contentType, String fileName) {
+        inFlightUploads.incrementAndGet();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            ImageUploadResult result = imageStorage.store(content, size, contentType, fileName);
+            uploadedBytes.increment(size);
+            success = true;
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Upload interrupted", e);
+        } finally {
+            inFlightUploads.decrementAndGet();
+            (success ? uploadSuccessTimer : uploadFailureTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public boolean delete(String fileId) throws IOException, InterruptedException {
+        return imageStorage.delete(fileId);
+    }
+}
@@ -0,0 +1,312 @@
+package com.roosvelt.Backend.service;
+
+import com.roosvelt.Backend.dto.ImageUploadResult;
+import com.roosvelt.Backend.entity.ImageVariant;
+import com.roosvelt.Backend.entity.ProductImageVariant;
+import com.roosvelt.Backend.repository.ImageVariantRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Produces resized JPEG copies of uploaded images on a pool sized to the CPU count.
+// The JDK has no WebP encoder, so variants are JPEG at images.variants.quality.
+@Service
+public class ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+
+    @Value("${images.variants.widths:200,800}")
+    private List<Integer> widths;
+
+    @Value("${images.variants.quality:0.8}")
+    private float quality;
+
+    @Value("${images.variants.max-source-pixels:40000000}")
+    private long maxSourcePixels;
+
+    @Autowired
+    private ImageUploadService imageUploadService;
+
+    @Autowired
+    private ImageVariantRepository imageVariantRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor variantExecutor;
+    private Timer resizeTimer;
+
+    @PostConstruct
+    public void initialize() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        variantExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 8),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        resizeTimer = Timer.builder("images.variants.resize.duration").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        variantExecutor.shutdown();
+    }
+
+    // Completes with width -> stored variant for every variant that could be produced; never completes
+    // exceptionally, a missing variant only means clients fall back to the original image
+    public CompletableFuture<Map<Integer, ImageUploadResult>> createVariantsAsync(MultipartFile file, String fileName, String extension) {
+        if ("gif".equals(extension)) {
+            // Resizing would drop the animation
+            return CompletableFuture.completedFuture(Map.of());
+        }
+
+        CompletableFuture<BufferedImage> decoded;
+        try {
+            decoded = CompletableFuture.supplyAsync(() -> decode(file), variantExecutor);
+        } catch (RuntimeException e) {
+            logger.warn("Skipping variants for {}: {}", fileName, e.getMessage());
+            return CompletableFuture.completedFuture(Map.of());
+        }
+
+        List<CompletableFuture<Map.Entry<Integer, ImageUploadResult>>> variants = widths.stream()
+                .map(width -> decoded
+                        .thenApplyAsync(image -> resizeAndEncode(image, width), variantExecutor)
+                        .thenCompose(bytes -> bytes == null
+                                ? CompletableFuture.<Map.Entry<Integer, ImageUploadResult>>completedFuture(null)
+                                : imageUploadService.uploadAsync(bytes, VARIANT_CONTENT_TYPE, variantFileName(fileName, width))
+                                        .thenApply(result -> Map.entry(width, result)))
+                        .exceptionally(e -> {
+                            logger.warn("Could not create {}px variant of {}: {}", width, fileName, e.getMessage());
+                            return null;
+                        }))
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(variants.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    Map<Integer, ImageUploadResult> stored = new TreeMap<>();
+                    for (CompletableFuture<Map.Entry<Integer, ImageUploadResult>> variant : variants) {
+                        Map.Entry<Integer, ImageUploadResult> entry = variant.join();
+                        if (entry != null) {
+                            stored.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    return stored;
+                });
+    }
+
+    @Transactional
+    public void saveVariants(String originalUrl, Map<Integer, ImageUploadResult> stored) {
+        List<ImageVariant> variants = stored.entrySet().stream()
+                .map(entry -> new ImageVariant(originalUrl, entry.getKey(), entry.getValue().getUrl(), entry.getValue().getFileId()))
+                .collect(Collectors.toList());
+        imageVariantRepository.saveAll(variants);
+    }
+
+    // width -> URL of the variants recorded for an original image
+    @Transactional(readOnly = true)
+    public Map<Integer, String> findVariantUrls(String originalUrl) {
+        Map<Integer, String> urls = new TreeMap<>();
+        for (ImageVariant variant : imageVariantRepository.findByOriginalUrl(originalUrl)) {
+            urls.put(variant.getWidth(), variant.getUrl());
+        }
+        return urls;
+    }
+
+    // Removes the variants of an original image from the index, then from storage. Not transactional:
+    // the storage calls must not hold a database connection
+    public void deleteVariants(String originalUrl) {
+        List<ImageVariant> variants = imageVariantRepository.findByOriginalUrl(originalUrl);
+        imageVariantRepository.deleteAll(variants);
+        for (ImageVariant variant : variants) {
+            try {
+                if (variant.getFileId() != null) {
+                    imageUploadService.delete(variant.getFileId());
+                }
+            } catch (IOException e) {
+                logger.warn("Could not delete variant {}: {}", variant.getUrl(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while deleting variant {}", variant.getUrl());
+            }
+        }
+    }
+
+    // Deletes variants that were uploaded but never recorded, e.g. because their original failed to upload
+    public void discardVariants(Map<Integer, ImageUploadResult> stored) {
+        for (ImageUploadResult variant : stored.values()) {
+            try {
+                if (variant.getFileId() != null) {
+                    imageUploadService.delete(variant.getFileId());
+                }
+            } catch (IOException e) {
+                logger.warn("Could not delete variant {}: {}", variant.getUrl(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while deleting variant {}", variant.getUrl());
+            }
+        }
+    }
+
+    // Variants of the given images, in image order, ready to be stored on the product
+    @Transactional(readOnly = true)
+    public List<ProductImageVariant> findProductVariants(Collection<String> imageUrls) {
+        if (imageUrls == null || imageUrls.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, List<ImageVariant>> byOriginal = imageVariantRepository.findByOriginalUrlIn(imageUrls).stream()
+                .collect(Collectors.groupingBy(ImageVariant::getOriginalUrl));
+        List<ProductImageVariant> result = new ArrayList<>();
+        for (String imageUrl : imageUrls) {
+            for (ImageVariant variant : byOriginal.getOrDefault(imageUrl, List.of())) {
+                result.add(new ProductImageVariant(imageUrl, variant.getWidth(), variant.getUrl()));
+            }
+        }
+        return result;
+    }
+
+    // The header gives the size before any pixel is allocated: a small file can claim a huge image.
+    // Large sources are decoded subsampled, keeping at least twice the widest variant for the final steps.
+    private BufferedImage decode(MultipartFile file) {
+        try (InputStream in = file.getInputStream();
+             ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = imageIn == null ? null : ImageIO.getImageReaders(imageIn);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Format d'image non lisible");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    throw new IOException("Image trop grande (" + width + "x" + height + " pixels, maximum "
+                            + maxSourcePixels + ")");
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, width / (2 * widestVariant()));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage image = reader.read(0, param);
+                if (image == null) {
+                    throw new IOException("Format d'image non lisible");
+                }
+                return image;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int widestVariant() {
+        return widths.stream().mapToInt(Integer::intValue).max().orElse(1);
+    }
+
+    private byte[] resizeAndEncode(BufferedImage source, int width) {
+        if (source.getWidth() <= width) {
+            // Never upscale: the original is already small enough
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return encodeJpeg(resize(source, width));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            resizeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Halves the image until close to the target, then does a final bilinear step; keeps thumbnails sharp
+    private BufferedImage resize(BufferedImage source, int targetWidth) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        boolean first = true;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = currentWidth == targetWidth ? targetHeight : Math.max(targetHeight, currentHeight / 2);
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (first) {
+                    // JPEG has no alpha channel: flatten transparent PNG/WebP pixels onto white
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, currentWidth, currentHeight);
+                }
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+            first = false;
+        } while (currentWidth != targetWidth);
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private String variantFileName(String fileName, int width) {
+        int lastDotIndex = fileName.lastIndexOf('.');
+        String baseName = lastDotIndex == -1 ? fileName : fileName.substring(0, lastDotIndex);
+        return baseName + "_" + width + "w.jpg";
+    }
+}
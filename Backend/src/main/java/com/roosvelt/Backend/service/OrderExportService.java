@@ -0,0 +1,87 @@
+package com.roosvelt.Backend.service;
+
+import com.roosvelt.Backend.entity.Order;
+import com.roosvelt.Backend.export.ExportFormat;
+import com.roosvelt.Backend.export.OrderExportRow;
+import com.roosvelt.Backend.export.OrderExportWriter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+public class OrderExportService {
+
+    private static final String EXPORT_SQL = "SELECT o.id, o.created_at, o.status, o.first_name, o.last_name, " +
+            "o.phone, o.address, o.city, o.quarter, o.total, " +
+            "oi.product_id, oi.product_name, oi.product_category, oi.unit_price, oi.quantity " +
+            "FROM orders o LEFT JOIN order_items oi ON oi.order_id = o.id WHERE 1 = 1";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${orders.export.fetch-size:1000}")
+    private int fetchSize;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initializeJdbcTemplate() {
+        // PostgreSQL only streams with a fetch size inside a transaction; otherwise it buffers the whole result
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    // Streams orders joined with their lines straight from a forward-only cursor to the output
+    @Transactional(readOnly = true)
+    public void exportOrders(LocalDate from, LocalDate to, Order.OrderStatus status,
+                             ExportFormat format, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL);
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND o.created_at >= ?");
+            params.add(from.atStartOfDay());
+        }
+        if (to != null) {
+            sql.append(" AND o.created_at < ?");
+            params.add(to.plusDays(1).atStartOfDay());
+        }
+        if (status != null) {
+            sql.append(" AND o.status = ?");
+            params.add(status.name());
+        }
+        sql.append(" ORDER BY o.created_at, o.id, oi.id");
+
+        log.info("Exporting orders as {} (from: {}, to: {}, status: {})", format, from, to, status);
+        OrderExportWriter writer = format.createWriter(out);
+        OrderExportRow row = new OrderExportRow();
+        RowCallbackHandler handler = rs -> {
+            row.readFrom(rs);
+            try {
+                writer.write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            jdbcTemplate.query(sql.toString(), handler, params.toArray());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+    }
+}
@@ -0,0 +1,48 @@
+package com.roosvelt.Backend.service;
+
+import com.roosvelt.Backend.dto.OrderEvent;
+import com.roosvelt.Backend.dto.OrderResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Business counters fed by the same events as the admin stream, so rolled back orders are never counted
+@Component
+public class OrderMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter ordersCreated;
+    private DistributionSummary orderValue;
+
+    @PostConstruct
+    public void initialize() {
+        ordersCreated = Counter.builder("orders.created")
+                .description("Orders placed")
+                .register(meterRegistry);
+        orderValue = DistributionSummary.builder("orders.value")
+                .description("Total of each placed order")
+                .baseUnit("fcfa")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderEvent(OrderEvent event) {
+        OrderResponse order = event.getOrder();
+        if (event.getType() == OrderEvent.EventType.CREATED) {
+            ordersCreated.increment();
+            if (order.getTotal() != null) {
+                orderValue.record(order.getTotal());
+            }
+        } else {
+            meterRegistry.counter("orders.status.changed", "status", order.getStatus().name().toLowerCase())
+                    .increment();
+        }
+    }
+}
@@ -1,19 +1,28 @@
 package com.roosvelt.Backend.service;
 
+import com.roosvelt.Backend.datasource.ReadYourWritesGuard;
 import com.roosvelt.Backend.dto.CreateOrderRequest;
+import com.roosvelt.Backend.dto.OrderEvent;
 import com.roosvelt.Backend.dto.OrderResponse;
 import com.roosvelt.Backend.entity.Order;
 import com.roosvelt.Backend.entity.OrderItem;
 import com.roosvelt.Backend.entity.Product;
 import com.roosvelt.Backend.exception.ResourceNotFoundException;
+import com.roosvelt.Backend.fields.OrderField;
+import com.roosvelt.Backend.invalidation.CacheChange;
+import com.roosvelt.Backend.repository.OrderProjectionRepository;
 import com.roosvelt.Backend.repository.OrderRepository;
 import com.roosvelt.Backend.repository.ProductRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,15 +35,37 @@ public class OrderService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private OrderProjectionRepository orderProjectionRepository;
+
+    // Events are delivered to OrderStreamService only after the transaction commits
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Reads right after a write go to the primary, replicas may not have it yet
+    @Autowired
+    private ReadYourWritesGuard readYourWritesGuard;
+
     @Transactional(readOnly = true)  // Added this annotation
     public List<OrderResponse> getAllOrders() {
-        log.info("Getting all orders");
+        log.debug("Getting all orders");
+        readYourWritesGuard.routeToPrimaryIfPinned("orders");
         return orderRepository.findAllByOrderByCreatedAtDesc()
                 .stream()
                 .map(OrderResponse::new)
                 .collect(Collectors.toList());
     }
 
+    // Sparse variants (?fields=): only the selected columns are read, see OrderProjectionRepository
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getAllOrders(Set<OrderField> fields) {
+        if (fields == null) {
+            return getAllOrders();
+        }
+        readYourWritesGuard.routeToPrimaryIfPinned("orders");
+        return orderProjectionRepository.findAll(fields);
+    }
+
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
         try {
@@ -46,17 +77,22 @@ public class OrderService {
             order.setCustomerInfo(request.getCustomerInfo());
             order.setTotal(request.getTotal());
 
-            // Convert DTO items to entities
+            // Fetch all referenced products with their images in one query, to ensure they exist and snapshot them
+            Set<Long> productIds = request.getItems().stream()
+                    .map(itemRequest -> itemRequest.getProduct().getId())
+                    .collect(Collectors.toSet());
+            Map<Long, Product> products = productRepository.findAllWithImagesByIdIn(productIds).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+            // Convert DTO items to entities, capturing the product as it is sold
             List<OrderItem> orderItems = request.getItems().stream()
                     .map(itemRequest -> {
-                        OrderItem orderItem = new OrderItem();
-
-                        // Fetch the product from database to ensure it exists
-                        Product product = productRepository.findById(itemRequest.getProduct().getId())
-                                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + itemRequest.getProduct().getId()));
+                        Product product = products.get(itemRequest.getProduct().getId());
+                        if (product == null) {
+                            throw new ResourceNotFoundException("Product not found with id: " + itemRequest.getProduct().getId());
+                        }
 
-                        orderItem.setProduct(product);
-                        orderItem.setQuantity(itemRequest.getQuantity());
+                        OrderItem orderItem = new OrderItem(product, itemRequest.getQuantity());
                         orderItem.setOrder(order); // Set bidirectional relationship
 
                         return orderItem;
@@ -67,8 +103,11 @@ public class OrderService {
 
             Order savedOrder = orderRepository.save(order);
             log.info("Order created successfully with ID: {}", savedOrder.getId());
+            pinOrder(savedOrder);
 
-            return new OrderResponse(savedOrder);
+            OrderResponse response = new OrderResponse(savedOrder);
+            eventPublisher.publishEvent(new OrderEvent(OrderEvent.EventType.CREATED, response));
+            return response;
 
         } catch (Exception e) {
             log.error("Error creating order: ", e);
@@ -78,32 +117,67 @@ public class OrderService {
 
     @Transactional(readOnly = true)  // Added this annotation
     public OrderResponse getOrderById(String id) {
-        Order order = orderRepository.findById(id)
+        readYourWritesGuard.routeToPrimaryIfPinned("order:" + id);
+        Order order = orderRepository.findWithItemsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
         return new OrderResponse(order);
     }
 
+    @Transactional(readOnly = true)
+    public OrderResponse getOrderById(String id, Set<OrderField> fields) {
+        if (fields == null) {
+            return getOrderById(id);
+        }
+        readYourWritesGuard.routeToPrimaryIfPinned("order:" + id);
+        return orderProjectionRepository.findById(id, fields).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+    }
+
     @Transactional
     public OrderResponse updateOrderStatus(String id, Order.OrderStatus status) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithItemsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
         order.setStatus(status);
         Order updatedOrder = orderRepository.save(order);
-        return new OrderResponse(updatedOrder);
+        pinOrder(updatedOrder);
+        OrderResponse response = new OrderResponse(updatedOrder);
+        eventPublisher.publishEvent(new OrderEvent(OrderEvent.EventType.STATUS_CHANGED, response));
+        return response;
     }
 
     @Transactional(readOnly = true)  // Added this annotation
     public List<OrderResponse> getOrdersByPhone(String phone) {
+        readYourWritesGuard.routeToPrimaryIfPinned("phone:" + phone);
         return orderRepository.findByCustomerPhone(phone)
                 .stream()
                 .map(OrderResponse::new)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrdersByPhone(String phone, Set<OrderField> fields) {
+        if (fields == null) {
+            return getOrdersByPhone(phone);
+        }
+        readYourWritesGuard.routeToPrimaryIfPinned("phone:" + phone);
+        return orderProjectionRepository.findByCustomerPhone(phone, fields);
+    }
+
     @Transactional
     public void deleteOrder(String id) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
         orderRepository.delete(order);
+        pinOrder(order);
+    }
+
+    // Here and, once committed, on the other instances (they only get the id, not the phone)
+    private void pinOrder(Order order) {
+        eventPublisher.publishEvent(new CacheChange(CacheChange.Entity.ORDER, order.getId()));
+        readYourWritesGuard.pin("orders");
+        readYourWritesGuard.pin("order:" + order.getId());
+        if (order.getCustomerInfo() != null) {
+            readYourWritesGuard.pin("phone:" + order.getCustomerInfo().getPhone());
+        }
     }
 }
\ No newline at end of file
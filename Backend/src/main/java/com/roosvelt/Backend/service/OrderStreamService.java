@@ -0,0 +1,213 @@
+package com.roosvelt.Backend.service;
+
+import com.roosvelt.Backend.dto.OrderEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes committed order changes to admin dashboards over SSE; a bounded replay buffer
+// lets a reconnecting client catch up from its Last-Event-ID instead of reloading everything.
+// Events are queued per subscriber and sent from the order-stream threads, so a slow dashboard
+// never holds up the request that committed the order.
+@Slf4j
+@Service
+public class OrderStreamService {
+
+    @Value("${orders.stream.replay-size:256}")
+    private int replaySize;
+
+    @Value("${orders.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Deque<OrderEvent> replayBuffer = new ArrayDeque<>();
+    private long lastSequence = 0;
+    private Executor sendExecutor;
+    private Runnable shutdownSenders = () -> {};
+
+    @PostConstruct
+    public void initialize() {
+        // One sender per subscriber with pending events: a stalled connection only blocks its own
+        if (virtualThreads) {
+            sendExecutor = new VirtualThreadTaskExecutor("order-stream-");
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "order-stream-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            sendExecutor = executor;
+            shutdownSenders = executor::shutdownNow;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutdownSenders.run();
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Replay and registration share the lock with publish so no event falls in between
+        boolean pending;
+        synchronized (replayBuffer) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+            pending = subscriber.hasPending();
+        }
+        if (pending) {
+            schedule(subscriber);
+        }
+        log.info("Order stream subscriber connected (lastEventId: {}, subscribers: {})", lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderEvent(OrderEvent event) {
+        List<Subscriber> toSchedule = new ArrayList<>();
+        synchronized (replayBuffer) {
+            event.setSequence(++lastSequence);
+            replayBuffer.addLast(event);
+            while (replayBuffer.size() > replaySize) {
+                replayBuffer.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.enqueue(event(event))) {
+                    toSchedule.add(subscriber);
+                }
+            }
+        }
+        toSchedule.forEach(this::schedule);
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        OrderEvent oldest = replayBuffer.peekFirst();
+        if (lastEventId > lastSequence || (oldest != null && lastEventId < oldest.getSequence() - 1)) {
+            // The client missed events we no longer hold (or the server restarted): it must reload
+            subscriber.enqueue(SseEmitter.event().name("resync").id(String.valueOf(lastSequence)).data(""));
+            return;
+        }
+        for (OrderEvent event : replayBuffer) {
+            if (event.getSequence() > lastEventId) {
+                subscriber.enqueue(event(event));
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        try {
+            sendExecutor.execute(() -> drain(subscriber));
+        } catch (RuntimeException e) {
+            log.debug("Dropping order stream subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    // Sends the subscriber's events in order until its queue is empty
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder next;
+            boolean closed;
+            synchronized (subscriber) {
+                closed = subscriber.closed;
+                next = closed ? null : subscriber.pending.poll();
+                if (next == null) {
+                    subscriber.sending = false;
+                }
+            }
+            if (next == null) {
+                if (closed) {
+                    // Further behind than the replay buffer: it reconnects and resumes from its Last-Event-ID
+                    log.debug("Disconnecting order stream subscriber that fell {} events behind", replaySize);
+                    subscriber.emitter.complete();
+                }
+                return;
+            }
+            try {
+                subscriber.emitter.send(next);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping order stream subscriber: {}", e.getMessage());
+                subscribers.remove(subscriber);
+                synchronized (subscriber) {
+                    subscriber.failed = true;
+                    subscriber.pending.clear();
+                }
+                return;
+            }
+        }
+    }
+
+    private SseEmitter.SseEventBuilder event(OrderEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getSequence()))
+                .name(event.getType().getValue())
+                .data(event.getOrder());
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean sending;
+        // Fell behind by more than replay-size events
+        private boolean closed;
+        // The connection is gone: nothing more to send
+        private boolean failed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Returns true when a sender must be started for this subscriber
+        private synchronized boolean enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed || failed) {
+                return false;
+            }
+            if (pending.size() >= replaySize) {
+                closed = true;
+                pending.clear();
+                subscribers.remove(this);
+            } else {
+                pending.add(event);
+            }
+            if (sending) {
+                return false;
+            }
+            sending = true;
+            return true;
+        }
+
+        private synchronized boolean hasPending() {
+            return !pending.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.roosvelt.Backend.service;
+
+import com.roosvelt.Backend.entity.StoredImage;
+import com.roosvelt.Backend.repository.StoredImageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Deletes stored images that no product (or order line snapshot) references anymore, e.g. after
+// updateProduct replaced the images or deleteProduct removed the product. Images uploaded (or handed out
+// again by deduplication) within the grace period are left alone, since the admin may still be creating
+// the product they belong to. A failed storage delete is retried after images.gc.retry-after.
+// Only images recorded in stored_images are collected: files uploaded before deduplication existed are
+// not indexed, and are only removed through /api/delete-image.
+@Service
+@ConditionalOnProperty(name = "images.gc.enabled", havingValue = "true", matchIfMissing = true)
+public class OrphanImageCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrphanImageCollector.class);
+
+    @Value("${images.gc.grace-period:PT24H}")
+    private Duration gracePeriod;
+
+    @Value("${images.gc.batch-size:50}")
+    private int batchSize;
+
+    @Value("${images.gc.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${images.gc.delete-interval-ms:200}")
+    private long deleteIntervalMs;
+
+    @Value("${images.gc.retry-after:PT24H}")
+    private Duration retryAfter;
+
+    @Autowired
+    private StoredImageRepository storedImageRepository;
+
+    @Autowired
+    private ImageLibraryService imageLibraryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter reclaimedBytes;
+    private Counter deletedImages;
+    private Counter failedDeletes;
+
+    @PostConstruct
+    public void initialize() {
+        reclaimedBytes = Counter.builder("images.gc.reclaimed.bytes")
+                .description("Bytes of orphan images deleted from storage")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        deletedImages = Counter.builder("images.gc.deleted")
+                .description("Orphan images deleted from storage")
+                .register(meterRegistry);
+        failedDeletes = Counter.builder("images.gc.failed")
+                .description("Orphan images storage refused to delete")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${images.gc.initial-delay:PT5M}", fixedDelayString = "${images.gc.interval:PT1H}")
+    public void collect() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(gracePeriod);
+        LocalDateTime retryCutoff = now.minus(retryAfter);
+        int deleted = 0;
+        long bytes = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<StoredImage> orphans = storedImageRepository.findOrphans(cutoff, retryCutoff, batchSize);
+                for (StoredImage orphan : orphans) {
+                    if (deleteOrphan(orphan, cutoff)) {
+                        deleted++;
+                        bytes += orphan.getSize();
+                    }
+                    // Rate limit: storage deletes are spread out instead of fired in a burst
+                    Thread.sleep(deleteIntervalMs);
+                }
+                if (orphans.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Orphan image collection failed: {}", e.getMessage(), e);
+        }
+        if (deleted > 0) {
+            logger.info("Orphan image collection deleted {} images, reclaimed {} bytes", deleted, bytes);
+        }
+    }
+
+    private boolean deleteOrphan(StoredImage orphan, LocalDateTime cutoff) throws InterruptedException {
+        // Claims the image: the row is only deleted if no upload and no product picked it up since the batch
+        if (storedImageRepository.deleteIfOrphan(orphan.getSha256(), cutoff) == 0) {
+            return false;
+        }
+        boolean deleted = false;
+        try {
+            deleted = imageLibraryService.deleteFiles(orphan);
+        } catch (IOException e) {
+            logger.warn("Could not delete orphan image {}: {}", orphan.getUrl(), e.getMessage());
+        } finally {
+            if (!deleted) {
+                failedDeletes.increment();
+                restore(orphan);
+            }
+        }
+        if (!deleted) {
+            return false;
+        }
+        deletedImages.increment();
+        reclaimedBytes.increment(orphan.getSize());
+        return true;
+    }
+
+    // Puts the row back, marked as failed, so the file is retried later instead of leaking
+    private void restore(StoredImage orphan) {
+        StoredImage copy = new StoredImage(orphan.getSha256(), orphan.getUrl(), orphan.getFileId(), orphan.getSize(),
+                orphan.getWidth(), orphan.getHeight());
+        copy.setReferenceCount(orphan.getReferenceCount());
+        copy.setCreatedAt(orphan.getCreatedAt());
+        copy.setLastAcquiredAt(orphan.getLastAcquiredAt());
+        copy.setGcFailedAt(LocalDateTime.now());
+        try {
+            storedImageRepository.saveAndFlush(copy);
+        } catch (DataIntegrityViolationException e) {
+            // The same content was uploaded again meanwhile and took the row, with files of its own
+            logger.warn("Orphan image {} could not be deleted nor kept for a retry, remove {} by hand",
+                    orphan.getUrl(), orphan.getFileId());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.roosvelt.Backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roosvelt.Backend.dto.ProductResponse;
+import com.roosvelt.Backend.fields.ProductField;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Results of /search and /filter, keyed by the normalized query. Caffeine evicts with W-TinyLFU, so a burst
+// of one-off searches does not push out the popular ones, and concurrent misses on one key wait for a single
+// computation instead of all hitting the database. Product writes bump the catalogue version: entries are
+// dropped, and a result computed before the write (still loading at that moment) is recomputed on next read.
+@Component
+public class ProductQueryCache {
+
+    @Value("${catalog.query-cache.max-size:2000}")
+    private long maxSize;
+
+    @Value("${catalog.query-cache.ttl:PT10M}")
+    private Duration ttl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private Cache<Key, Entry> cache;
+    private Timer loadTimer;
+
+    @PostConstruct
+    public void initialize() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size: hit ratio = hit / (hit + miss)
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products.query");
+        loadTimer = Timer.builder("products.query.cache.load")
+                .description("Time to compute a search/filter result on a cache miss")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public ProductResponse search(String query, String sortBy, Supplier<ProductResponse> loader) {
+        return search(query, sortBy, null, loader);
+    }
+
+    // fields: the ?fields= selection (null for every field), part of the key
+    public ProductResponse search(String query, String sortBy, Set<ProductField> fields, Supplier<ProductResponse> loader) {
+        return get(new Key("search", null, null, null, lower(query), normalizeSort(sortBy), fields), loader);
+    }
+
+    public ProductResponse filter(String category, Integer minPrice, Integer maxPrice, String search, String sortBy,
+                                  Supplier<ProductResponse> loader) {
+        return filter(category, minPrice, maxPrice, search, sortBy, null, loader);
+    }
+
+    public ProductResponse filter(String category, Integer minPrice, Integer maxPrice, String search, String sortBy,
+                                  Set<ProductField> fields, Supplier<ProductResponse> loader) {
+        return get(new Key("filter", lower(category), minPrice, maxPrice, lower(search), normalizeSort(sortBy), fields),
+                loader);
+    }
+
+    // Sparse listing of the whole catalogue; the full listing is served by Hibernate's query cache
+    public ProductResponse all(String sortBy, Set<ProductField> fields, Supplier<ProductResponse> loader) {
+        return get(new Key("all", null, null, null, null, normalizeSort(sortBy), fields), loader);
+    }
+
+    // Called after a product is created, updated or deleted
+    public void invalidate() {
+        catalogVersion.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    private ProductResponse get(Key key, Supplier<ProductResponse> loader) {
+        long version = catalogVersion.get();
+        Entry entry = cache.get(key, k -> load(version, loader));
+        if (entry.version != version) {
+            cache.asMap().remove(key, entry);
+            long current = catalogVersion.get();
+            entry = cache.get(key, k -> load(current, loader));
+        }
+        return entry.response;
+    }
+
+    private Entry load(long version, Supplier<ProductResponse> loader) {
+        return new Entry(version, loadTimer.record(loader));
+    }
+
+    // The queries compare with LOWER() on both sides, so case does not change the result
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    // Unknown values fall back to the price_asc order in the queries
+    private static String normalizeSort(String sortBy) {
+        return switch (sortBy == null ? "" : sortBy) {
+            case "price_desc", "name_asc", "name_desc" -> sortBy;
+            default -> "price_asc";
+        };
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final ProductResponse response;
+
+        private Entry(long version, ProductResponse response) {
+            this.version = version;
+            this.response = response;
+        }
+    }
+
+    private static final class Key {
+        private final String kind;
+        private final String category;
+        private final Integer minPrice;
+        private final Integer maxPrice;
+        private final String search;
+        private final String sortBy;
+        private final Set<ProductField> fields;
+
+        private Key(String kind, String category, Integer minPrice, Integer maxPrice, String search, String sortBy,
+                    Set<ProductField> fields) {
+            this.kind = kind;
+            this.category = category;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.search = search;
+            this.sortBy = sortBy;
+            this.fields = fields;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return kind.equals(other.kind) && Objects.equals(category, other.category)
+                    && Objects.equals(minPrice, other.minPrice) && Objects.equals(maxPrice, other.maxPrice)
+                    && Objects.equals(search, other.search) && sortBy.equals(other.sortBy)
+                    && Objects.equals(fields, other.fields);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, category, minPrice, maxPrice, search, sortBy, fields);
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package com.roosvelt.Backend.service;
 
+import com.roosvelt.Backend.datasource.ReadYourWritesGuard;
 import com.roosvelt.Backend.dto.ProductResponse;
 import com.roosvelt.Backend.entity.Product;
 import com.roosvelt.Backend.exception.ResourceNotFoundException;
+import com.roosvelt.Backend.fields.ProductField;
+import com.roosvelt.Backend.invalidation.CacheChange;
+import com.roosvelt.Backend.repository.ProductProjectionRepository;
 import com.roosvelt.Backend.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Service
 public class ProductService {
@@ -18,8 +30,37 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductProjectionRepository productProjectionRepository;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private ProductQueryCache productQueryCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Product writes are announced to the other instances (see invalidation.InvalidationPublisher)
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReadYourWritesGuard readYourWritesGuard;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void initialize() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Transactional(readOnly = true)
     public ProductResponse getAllProducts(String sortBy) {
-        logger.info("Starting getAllProducts method with sortBy: {}", sortBy);
+        logger.debug("Starting getAllProducts method with sortBy: {}", sortBy);
+        readYourWritesGuard.routeToPrimaryIfPinned(ReadYourWritesGuard.CATALOG);
         try {
             List<Product> products;
             switch (sortBy) {
@@ -37,7 +78,7 @@ public class ProductService {
                     products = productRepository.findAllByOrderByPriceAsc();
             }
             
-            logger.info("Successfully retrieved {} products from database with sort: {}", products.size(), sortBy);
+            logger.debug("Successfully retrieved {} products from database with sort: {}", products.size(), sortBy);
             return new ProductResponse(products, products.size());
         } catch (Exception e) {
             logger.error("Unexpected error occurred while getting all products: {}", e.getMessage(), e);
@@ -45,8 +86,21 @@ public class ProductService {
         }
     }
 
+    // Sparse listing (?fields=): only the selected columns are read, see ProductProjectionRepository
+    public ProductResponse getAllProducts(String sortBy, Set<ProductField> fields) {
+        if (fields == null) {
+            return getAllProducts(sortBy);
+        }
+        return productQueryCache.all(sortBy, fields,
+                () -> sparse(() -> productProjectionRepository.findAll(sortBy, fields), fields));
+    }
+
     public ProductResponse searchProducts(String query, String sortBy) {
-        logger.info("Starting searchProducts method with query: '{}'", query);
+        return searchProducts(query, sortBy, null);
+    }
+
+    public ProductResponse searchProducts(String query, String sortBy, Set<ProductField> fields) {
+        logger.debug("Starting searchProducts method with query: '{}'", query);
         try {
             if (query == null || query.trim().isEmpty()) {
                 logger.warn("Search query is null or empty");
@@ -54,25 +108,11 @@ public class ProductService {
             }
 
             logger.debug("Executing search query: '{}'", query);
-            List<Product> products;
-            switch (sortBy) {
-                case "price_desc":
-                    products = productRepository.findByNameOrDescriptionContainingIgnoreCaseOrderByPriceDesc(query);
-                    break;
-                case "name_asc":
-                    products = productRepository.findByNameOrDescriptionContainingIgnoreCaseOrderByNameAsc(query);
-                    break;
-                case "name_desc":
-                    products = productRepository.findByNameOrDescriptionContainingIgnoreCaseOrderByNameDesc(query);
-                    break;
-                case "price_asc":
-                default:
-                    products = productRepository.findByNameOrDescriptionContainingIgnoreCaseOrderByPriceAsc(query);
-            }
-            logger.info("Search query '{}' returned {} products", query, products.size());
-
-            ProductResponse response = new ProductResponse(products, products.size());
-            logger.info("Successfully created search response with {} products", products.size());
+            ProductResponse response = productQueryCache.search(query, sortBy, fields, () -> fields == null
+                    ? cacheable(() -> querySearch(query, sortBy))
+                    : sparse(() -> productProjectionRepository.search(query, sortBy, fields), fields));
+            List<Product> products = response.getProducts();
+            logger.debug("Search query '{}' returned {} products", query, products.size());
             return response;
         } catch (Exception e) {
             logger.error("Error occurred while searching products with query '{}': {}", query, e.getMessage(), e);
@@ -81,7 +121,12 @@ public class ProductService {
     }
 
     public ProductResponse filterProducts(String category, Integer minPrice, Integer maxPrice, String search, String sortBy) {
-        logger.info("Starting filterProducts method with category: '{}', minPrice: {}, maxPrice: {}, search: '{}'",
+        return filterProducts(category, minPrice, maxPrice, search, sortBy, null);
+    }
+
+    public ProductResponse filterProducts(String category, Integer minPrice, Integer maxPrice, String search, String sortBy,
+                                          Set<ProductField> fields) {
+        logger.debug("Starting filterProducts method with category: '{}', minPrice: {}, maxPrice: {}, search: '{}'",
                 category, minPrice, maxPrice, search);
         try {
             // Validate price range
@@ -98,11 +143,12 @@ public class ProductService {
                     normalizedCategory, minPrice, maxPrice, normalizedSearch);
 
             logger.debug("Executing filter query with normalized parameters");
-            List<Product> products = productRepository.findWithFilters(normalizedCategory, minPrice, maxPrice, normalizedSearch, sortBy);
-            logger.info("Filter query returned {} products", products.size());
-
-            ProductResponse response = new ProductResponse(products, products.size());
-            logger.info("Successfully created filter response with {} products", products.size());
+            ProductResponse response = productQueryCache.filter(normalizedCategory, minPrice, maxPrice, normalizedSearch, sortBy,
+                    fields, () -> fields == null
+                            ? cacheable(() -> productRepository.findWithFilters(normalizedCategory, minPrice, maxPrice, normalizedSearch, sortBy))
+                            : sparse(() -> productProjectionRepository.filter(normalizedCategory, minPrice, maxPrice,
+                                    normalizedSearch, sortBy, fields), fields));
+            logger.debug("Filter query returned {} products", response.getCount());
             return response;
         } catch (IllegalArgumentException e) {
             logger.error("Invalid filter parameters: {}", e.getMessage());
@@ -125,7 +171,10 @@ public class ProductService {
             logger.debug("Product details - Name: '{}', Category: '{}', Price: {}",
                     product.getName(), product.getCategory(), product.getPrice());
 
+            product.setImageVariants(imageVariantService.findProductVariants(product.getImages()));
             Product savedProduct = productRepository.save(product);
+            productQueryCache.invalidate();
+            announce(savedProduct.getId());
             logger.info("Successfully created product with id: {} and name: '{}'",
                     savedProduct.getId(), savedProduct.getName());
             return savedProduct;
@@ -172,6 +221,7 @@ public class ProductService {
             if (productDetails.getImages() != null) {
                 logger.debug("Updating product images for id: {}", id);
                 product.setImages(productDetails.getImages());
+                product.setImageVariants(imageVariantService.findProductVariants(productDetails.getImages()));
             }
             if (productDetails.getCategory() != null) {
                 logger.debug("Updating product category from '{}' to '{}' for id: {}",
@@ -185,6 +235,8 @@ public class ProductService {
 
             logger.debug("Saving updated product with id: {}", id);
             Product updatedProduct = productRepository.save(product);
+            productQueryCache.invalidate();
+            announce(id);
             logger.info("Successfully updated product with id: {} and name: '{}'",
                     updatedProduct.getId(), updatedProduct.getName());
             return updatedProduct;
@@ -200,7 +252,50 @@ public class ProductService {
         }
     }
 
+    private List<Product> querySearch(String query, String sortBy) {
+        switch (sortBy) {
+            case "price_desc":
+                return productRepository.findByNameOrDescriptionContainingIgnoreCaseOrderByPriceDesc(query);
+            case "name_asc":
+                return productRepository.findByNameOrDescriptionContainingIgnoreCaseOrderByNameAsc(query);
+            case "name_desc":
+                return productRepository.findByNameOrDescriptionContainingIgnoreCaseOrderByNameDesc(query);
+            case "price_asc":
+            default:
+                return productRepository.findByNameOrDescriptionContainingIgnoreCaseOrderByPriceAsc(query);
+        }
+    }
+
+    // Cached products outlive the request: load their image collections now, in one read-only transaction
+    private ProductResponse cacheable(Supplier<List<Product>> query) {
+        return readOnlyTransaction.execute(status -> {
+            readYourWritesGuard.routeToPrimaryIfPinned(ReadYourWritesGuard.CATALOG);
+            List<Product> products = query.get();
+            for (Product product : products) {
+                Hibernate.initialize(product.getImages());
+                Hibernate.initialize(product.getImageVariants());
+            }
+            return new ProductResponse(products, products.size());
+        });
+    }
+
+    private ProductResponse sparse(Supplier<List<Product>> query, Set<ProductField> fields) {
+        return readOnlyTransaction.execute(status -> {
+            readYourWritesGuard.routeToPrimaryIfPinned(ReadYourWritesGuard.CATALOG);
+            List<Product> products = query.get();
+            return new ProductResponse(products, products.size(), fields);
+        });
+    }
+
+    // Here and, once committed, on the other instances
+    private void announce(Long id) {
+        eventPublisher.publishEvent(new CacheChange(CacheChange.Entity.PRODUCT, id));
+        readYourWritesGuard.pin(ReadYourWritesGuard.CATALOG);
+    }
+
+    @Transactional(readOnly = true)
     public Product getProductById(Long id) {
+        readYourWritesGuard.routeToPrimaryIfPinned(ReadYourWritesGuard.CATALOG);
         return productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
     }
@@ -219,6 +314,8 @@ public class ProductService {
 
             logger.debug("Deleting product with id: {}", id);
             productRepository.delete(product);
+            productQueryCache.invalidate();
+            announce(id);
             logger.info("Successfully deleted product with id: {}", id);
         } catch (ResourceNotFoundException e) {
             logger.error("Product not found for deletion with id: {}", id);
@@ -0,0 +1,145 @@
+package com.roosvelt.Backend.storage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roosvelt.Backend.dto.ImageUploadResult;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// ImageKit through its REST API: uploads stream the multipart body instead of buffering it like the SDK
+@Component
+@ConditionalOnProperty(name = "images.storage.type", havingValue = "imagekit", matchIfMissing = true)
+public class ImageKitImageStorage implements ImageStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageKitImageStorage.class);
+    private static final String UPLOAD_URL = "https://upload.imagekit.io/api/v1/files/upload";
+    private static final String FILES_URL = "https://api.imagekit.io/v1/files/";
+    private static final String LIST_URL = "https://api.imagekit.io/v1/files?limit=1";
+    private static final Pattern SAFE_CONTENT_TYPE = Pattern.compile("[A-Za-z0-9!#$&^_.+-]+/[A-Za-z0-9!#$&^_.+-]+");
+
+    @Value("${imagekit.private.key}")
+    private String imagekitPrivateKey;
+
+    @Value("${images.upload.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpClient httpClient;
+    private String authorization;
+
+    @PostConstruct
+    public void initialize() {
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((imagekitPrivateKey + ":").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public ImageUploadResult store(Supplier<InputStream> content, long size, String contentType, String fileName)
+            throws IOException, InterruptedException {
+        // Both end up inside multipart headers: quotes or line breaks would let them add headers or form fields
+        String safeFileName = sanitize(fileName);
+        String safeContentType = contentType != null && SAFE_CONTENT_TYPE.matcher(contentType).matches()
+                ? contentType : "application/octet-stream";
+        String boundary = "----ImageUpload" + UUID.randomUUID().toString().replace("-", "");
+        String head = formField(boundary, "fileName", safeFileName)
+                + formField(boundary, "folder", "/")
+                + formField(boundary, "useUniqueFileName", "false")
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + safeFileName + "\"\r\n"
+                + "Content-Type: " + safeContentType + "\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+
+        HttpRequest.BodyPublisher fileBody = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(content), size);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(UPLOAD_URL))
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .header("Authorization", authorization)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofString(head, StandardCharsets.UTF_8),
+                        fileBody,
+                        HttpRequest.BodyPublishers.ofString(tail, StandardCharsets.UTF_8)))
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            logger.error("ImageKit upload failed with status {}: {}", response.statusCode(), response.body());
+            throw new IOException("ImageKit a répondu " + response.statusCode());
+        }
+
+        JsonNode json = objectMapper.readTree(response.body());
+        return new ImageUploadResult(
+                json.path("url").asText(null),
+                json.path("fileId").asText(null),
+                json.hasNonNull("height") ? json.get("height").asInt() : null,
+                json.hasNonNull("width") ? json.get("width").asInt() : null);
+    }
+
+    @Override
+    public boolean delete(String fileId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(FILES_URL + URLEncoder.encode(fileId, StandardCharsets.UTF_8)))
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .header("Authorization", authorization)
+                .DELETE()
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            logger.warn("ImageKit delete of {} failed with status {}: {}", fileId, response.statusCode(), response.body());
+            return false;
+        }
+        return true;
+    }
+
+    // Lists at most one file: checks both the network path and the credentials
+    @Override
+    public void checkReachable() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(LIST_URL))
+                .timeout(Duration.ofSeconds(5))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status / 100 != 2) {
+            throw new IOException("ImageKit a répondu " + status);
+        }
+    }
+
+    // Same rule as LocalImageStorage: generated names (hash + extension) go through unchanged
+    private String sanitize(String fileName) {
+        String sanitized = fileName == null || fileName.isEmpty() ? "image" : fileName.replaceAll("[^A-Za-z0-9._-]", "_");
+        return sanitized.startsWith(".") ? "_" + sanitized.substring(1) : sanitized;
+    }
+
+    private String formField(String boundary, String name, String value) {
+        return "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n";
+    }
+}
@@ -0,0 +1,20 @@
+package com.roosvelt.Backend.storage;
+
+import com.roosvelt.Backend.dto.ImageUploadResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+
+// Where uploaded images live. Selected with images.storage.type (imagekit or local).
+public interface ImageStorage {
+
+    // Content is opened lazily and read once, to the end, so implementations can stream it
+    ImageUploadResult store(Supplier<InputStream> content, long size, String contentType, String fileName)
+            throws IOException, InterruptedException;
+
+    boolean delete(String fileId) throws IOException, InterruptedException;
+
+    // Cheap round trip used by the background health check; throws when uploads would fail
+    void checkReachable() throws IOException, InterruptedException;
+}
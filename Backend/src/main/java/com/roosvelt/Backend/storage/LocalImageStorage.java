@@ -0,0 +1,106 @@
+package com.roosvelt.Backend.storage;
+
+import com.roosvelt.Backend.dto.ImageUploadResult;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+// Images on the local disk, served by LocalImageController. Runs offline and in tests.
+@Component
+@ConditionalOnProperty(name = "images.storage.type", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    @Value("${images.storage.local.directory:./uploads}")
+    private String directory;
+
+    @Value("${images.storage.local.base-url:/images}")
+    private String baseUrl;
+
+    private Path root;
+
+    @PostConstruct
+    public void initialize() throws IOException {
+        root = Paths.get(directory).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public ImageUploadResult store(Supplier<InputStream> content, long size, String contentType, String fileName)
+            throws IOException {
+        String storedName = sanitize(fileName);
+        Path target = root.resolve(storedName);
+        // Written under a temporary name and moved into place, so a file is never served half-written
+        Path temp = Files.createTempFile(root, ".upload-", ".tmp");
+        try (InputStream in = content.get()) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        int[] dimensions = readDimensions(target);
+        return new ImageUploadResult(baseUrl + "/" + storedName, storedName,
+                dimensions != null ? dimensions[1] : null,
+                dimensions != null ? dimensions[0] : null);
+    }
+
+    @Override
+    public boolean delete(String fileId) throws IOException {
+        Path file = resolve(fileId);
+        return file != null && Files.deleteIfExists(file);
+    }
+
+    @Override
+    public void checkReachable() throws IOException {
+        if (!Files.isDirectory(root) || !Files.isWritable(root)) {
+            throw new IOException(root + " is not a writable directory");
+        }
+    }
+
+    // The stored file for a file id, or null if the id does not name a file inside the storage directory
+    public Path resolve(String fileId) {
+        if (fileId == null || fileId.isEmpty() || !fileId.equals(sanitize(fileId))) {
+            return null;
+        }
+        Path file = root.resolve(fileId).normalize();
+        return file.getParent().equals(root) ? file : null;
+    }
+
+    private String sanitize(String fileName) {
+        String sanitized = fileName.replaceAll("[^A-Za-z0-9._-]", "_");
+        return sanitized.startsWith(".") ? "_" + sanitized.substring(1) : sanitized;
+    }
+
+    // Reads only the image header; returns {width, height} or null for unreadable formats
+    private int[] readDimensions(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in);
+                return new int[] { reader.getWidth(0), reader.getHeight(0) };
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
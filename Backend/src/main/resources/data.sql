@@ -8,4 +8,36 @@ INSERT INTO categories (id, name) VALUES
 ('eclairage', 'Éclairage'),
 ('carrosserie', 'Carrosserie'),
 ('pneumatiques', 'Pneumatiques & Jantes')
-ON CONFLICT (id) DO NOTHING;
\ No newline at end of file
+ON CONFLICT (id) DO NOTHING;
+
+-- One-off data migrations: each one runs on the first boot that finds it missing here
+CREATE TABLE IF NOT EXISTS data_migrations (
+    id VARCHAR(100) PRIMARY KEY,
+    applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Backfill product snapshots on order lines created before they were captured.
+-- product_images keeps no position, so the image is the product's first one by URL: the same on every run
+UPDATE order_items oi SET
+    product_name = p.name,
+    unit_price = p.price,
+    product_category = p.category,
+    product_image = (SELECT pi.image_url FROM product_images pi WHERE pi.product_id = p.id
+                     ORDER BY pi.image_url LIMIT 1)
+FROM products p
+WHERE oi.product_id = p.id AND oi.product_name IS NULL
+  AND NOT EXISTS (SELECT 1 FROM data_migrations WHERE id = 'order-item-snapshots');
+
+INSERT INTO data_migrations (id) VALUES ('order-item-snapshots') ON CONFLICT (id) DO NOTHING;
+
+-- Same backfill for the product details added to the snapshot later
+UPDATE order_items oi SET
+    product_description = p.description,
+    product_warranty = p.warranty,
+    product_created_at = p.created_at,
+    product_updated_at = p.updated_at
+FROM products p
+WHERE oi.product_id = p.id AND oi.product_description IS NULL
+  AND NOT EXISTS (SELECT 1 FROM data_migrations WHERE id = 'order-item-snapshot-details');
+
+INSERT INTO data_migrations (id) VALUES ('order-item-snapshot-details') ON CONFLICT (id) DO NOTHING;
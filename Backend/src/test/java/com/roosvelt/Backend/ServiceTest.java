@@ -0,0 +1,30 @@
+package com.roosvelt.Backend;
+
+import com.roosvelt.Backend.service.ImageVariantService;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Services against an in-memory database: the beans of ServiceTestConfiguration with their real repositories,
+// and a mocked ImageVariantService (no image storage). Nothing runs in a test transaction, so every service
+// call commits on its own, like a request. The context is shared: start each test with ServiceTestFixture.reset()
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.sql.init.mode=never"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ServiceTestConfiguration.class)
+@MockitoBean(types = ImageVariantService.class)
+public @interface ServiceTest {
+}
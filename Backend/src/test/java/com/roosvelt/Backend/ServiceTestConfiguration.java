@@ -0,0 +1,32 @@
+package com.roosvelt.Backend;
+
+import com.roosvelt.Backend.datasource.ReadYourWritesGuard;
+import com.roosvelt.Backend.invalidation.CacheInvalidator;
+import com.roosvelt.Backend.repository.OrderProjectionRepository;
+import com.roosvelt.Backend.repository.ProductProjectionRepository;
+import com.roosvelt.Backend.service.CategoryService;
+import com.roosvelt.Backend.service.OrderService;
+import com.roosvelt.Backend.service.ProductQueryCache;
+import com.roosvelt.Backend.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+// Everything a @ServiceTest may need, in one context: a service gaining a dependency is added here only
+@TestConfiguration
+@Import({ ProductService.class, CategoryService.class, ProductQueryCache.class, ProductProjectionRepository.class,
+		OrderService.class, OrderProjectionRepository.class, ReadYourWritesGuard.class, CacheInvalidator.class })
+public class ServiceTestConfiguration {
+
+	@Bean
+	MeterRegistry meterRegistry() {
+		return new SimpleMeterRegistry();
+	}
+
+	@Bean
+	ServiceTestFixture serviceTestFixture() {
+		return new ServiceTestFixture();
+	}
+}
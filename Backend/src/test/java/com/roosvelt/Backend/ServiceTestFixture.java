@@ -0,0 +1,55 @@
+package com.roosvelt.Backend;
+
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.invalidation.CacheInvalidator;
+import com.roosvelt.Backend.repository.CategoryRepository;
+import com.roosvelt.Backend.repository.OrderRepository;
+import com.roosvelt.Backend.repository.ProductRepository;
+import com.roosvelt.Backend.service.ProductQueryCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ServiceTestFixture {
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ProductQueryCache productQueryCache;
+
+	@Autowired
+	private CacheInvalidator cacheInvalidator;
+
+	// Empty tables and caches: the database and the caches outlive a test class
+	public void reset() {
+		orderRepository.deleteAll();
+		productRepository.deleteAll();
+		categoryRepository.deleteAll();
+		evictCaches();
+		cacheInvalidator.reset();
+	}
+
+	// Second-level, query and ProductQueryCache entries
+	public void evictCaches() {
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAll();
+		productQueryCache.invalidate();
+	}
+
+	public static Product product(String name, int price, String category, String... images) {
+		return new Product(name, name + " pour véhicules légers", price, new ArrayList<>(List.of(images)), category,
+				"6 mois");
+	}
+}
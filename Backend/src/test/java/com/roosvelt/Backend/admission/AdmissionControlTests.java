@@ -0,0 +1,116 @@
+package com.roosvelt.Backend.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlTests {
+
+	private final AtomicLong now = new AtomicLong(1_000_000);
+
+	@Test
+	void bucketAllowsBurstThenAsksToWait() {
+		TokenBucketTable buckets = new TokenBucketTable(1024, 10, 5, now::get);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, buckets.tryAcquire("10.0.0.1"));
+		}
+		assertEquals(100, buckets.tryAcquire("10.0.0.1"));
+		// Another client has its own bucket
+		assertEquals(0, buckets.tryAcquire("10.0.0.2"));
+
+		now.addAndGet(250);
+		assertEquals(0, buckets.tryAcquire("10.0.0.1"));
+		assertEquals(0, buckets.tryAcquire("10.0.0.1"));
+		assertTrue(buckets.tryAcquire("10.0.0.1") > 0);
+	}
+
+	@Test
+	void slowRatesStillRefill() {
+		TokenBucketTable buckets = new TokenBucketTable(16, 0.5, 1, now::get);
+
+		assertEquals(0, buckets.tryAcquire("client"));
+		for (int i = 0; i < 1999; i++) {
+			now.incrementAndGet();
+			assertTrue(buckets.tryAcquire("client") > 0);
+		}
+		now.incrementAndGet();
+		assertEquals(0, buckets.tryAcquire("client"));
+	}
+
+	@Test
+	void limiterShrinksWhenLatencyRisesAndGrowsBack() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, 10);
+
+		runWindows(limiter, 200, 5_000_000L, 10);
+		int steady = limiter.getLimit();
+		assertTrue(steady > 20);
+
+		// Ten times slower: the limit drops before the baseline catches up with the new latency
+		runWindows(limiter, 200, 50_000_000L, 6);
+		int slow = limiter.getLimit();
+		assertTrue(slow < steady * 0.6);
+
+		runWindows(limiter, 200, 5_000_000L, 10);
+		assertTrue(limiter.getLimit() > slow);
+	}
+
+	@Test
+	void adminRequestsGetOnlyTheirShare() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 200, 10);
+
+		for (int i = 0; i < 5; i++) {
+			assertTrue(limiter.tryAcquire(0.5));
+		}
+		assertFalse(limiter.tryAcquire(0.5));
+		for (int i = 0; i < 5; i++) {
+			assertTrue(limiter.tryAcquire(1.0));
+		}
+		assertFalse(limiter.tryAcquire(1.0));
+
+		limiter.release(-1);
+		assertTrue(limiter.tryAcquire(1.0));
+		assertEquals(10, limiter.getInFlight());
+	}
+
+	@Test
+	void classifiesRequests() {
+		assertEquals(RequestPriority.CATALOG, RequestPriority.of(new MockHttpServletRequest("GET", "/api/products/filter")));
+		assertEquals(RequestPriority.ADMIN, RequestPriority.of(new MockHttpServletRequest("PUT", "/api/products/3")));
+		assertEquals(RequestPriority.CHECKOUT, RequestPriority.of(new MockHttpServletRequest("POST", "/api/orders")));
+		assertEquals(RequestPriority.CHECKOUT, RequestPriority.of(new MockHttpServletRequest("GET", "/api/orders/order_1")));
+		assertEquals(RequestPriority.ADMIN, RequestPriority.of(new MockHttpServletRequest("GET", "/api/orders")));
+		assertEquals(RequestPriority.ADMIN, RequestPriority.of(new MockHttpServletRequest("GET", "/api/orders/export")));
+		assertEquals(RequestPriority.ADMIN, RequestPriority.of(new MockHttpServletRequest("PUT", "/api/orders/order_1/status")));
+	}
+
+	@Test
+	void clientAddressIsTheEntryAddedByTheOutermostTrustedProxy() {
+		assertEquals("203.0.113.7", AdmissionFilter.forwardedAddress("203.0.113.7", 1));
+		// The client prepends whatever it likes; the proxy appends the address it actually saw
+		assertEquals("203.0.113.7", AdmissionFilter.forwardedAddress("1.2.3.4, 203.0.113.7", 1));
+		assertEquals("203.0.113.7", AdmissionFilter.forwardedAddress("1.2.3.4, 203.0.113.7, 10.0.0.2", 2));
+		assertNull(AdmissionFilter.forwardedAddress("10.0.0.2", 2));
+		assertNull(AdmissionFilter.forwardedAddress(" ", 1));
+		assertNull(AdmissionFilter.forwardedAddress(null, 1));
+	}
+
+	// Each round fills the limiter up to `concurrency` requests, then completes them all at the given latency
+	private void runWindows(AdaptiveConcurrencyLimiter limiter, int concurrency, long latencyNanos, int rounds) {
+		for (int round = 0; round < rounds; round++) {
+			int acquired = 0;
+			while (acquired < concurrency && limiter.tryAcquire(1.0)) {
+				acquired++;
+			}
+			for (int i = 0; i < acquired; i++) {
+				limiter.release(latencyNanos);
+			}
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.roosvelt.Backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.roosvelt.Backend.controller.ProductController;
+import com.roosvelt.Backend.dto.ProductResponse;
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@WebMvcTest(value = ProductController.class, properties = "frontend.url=http://localhost:5173")
+@Import(WireFormatNegotiationTests.Metrics.class)
+class WireFormatNegotiationTests {
+
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@TestConfiguration
+	static class Metrics {
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@MockitoBean
+	private ProductService productService;
+
+	private ProductResponse catalogue;
+
+	@BeforeEach
+	void setUp() {
+		Product product = new Product("Plaquettes de frein", "Plaquettes d'origine", 25000,
+				List.of("https://ik.imagekit.io/shop/a.jpg"), "freinage", "6 mois");
+		product.setId(1L);
+		product.setCreatedAt(LocalDateTime.of(2025, 1, 15, 10, 30, 0, 120_000_000));
+		catalogue = new ProductResponse(List.of(product, product), 2);
+		when(productService.getAllProducts(anyString(), isNull())).thenReturn(catalogue);
+	}
+
+	@Test
+	void jsonStaysTheDefault() throws Exception {
+		byte[] json = objectMapper.writeValueAsBytes(catalogue);
+
+		for (String accept : new String[] { null, "*/*", "application/json", "application/json, text/plain, */*" }) {
+			MockHttpServletResponse response = accept == null
+					? mockMvc.perform(get("/api/products")).andReturn().getResponse()
+					: mockMvc.perform(get("/api/products").header(HttpHeaders.ACCEPT, accept)).andReturn().getResponse();
+			assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType(), "Accept: " + accept);
+			assertArrayEquals(json, response.getContentAsByteArray(), "Accept: " + accept);
+			assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+		}
+	}
+
+	@Test
+	void binaryFormatsCarryTheSameDocument() throws Exception {
+		JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(catalogue));
+
+		MockHttpServletResponse smile = fetch(SMILE);
+		MockHttpServletResponse cbor = fetch(MediaType.APPLICATION_CBOR);
+
+		assertEquals(SMILE.toString(), smile.getContentType());
+		assertEquals(MediaType.APPLICATION_CBOR_VALUE, cbor.getContentType());
+		assertEquals(json, new SmileMapper().readTree(smile.getContentAsByteArray()));
+		assertEquals(json, new CBORMapper().readTree(cbor.getContentAsByteArray()));
+		assertTrue(smile.getContentAsByteArray().length < objectMapper.writeValueAsBytes(catalogue).length);
+	}
+
+	private MockHttpServletResponse fetch(MediaType accept) throws Exception {
+		return mockMvc.perform(get("/api/products").accept(accept)).andReturn().getResponse();
+	}
+}
@@ -0,0 +1,99 @@
+package com.roosvelt.Backend.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTests {
+
+	private final DataSource primary = mock(DataSource.class);
+	private final Connection primaryConnection = mock(Connection.class);
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(synchronization -> synchronization.afterCompletion(0));
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void spreadsReadsOverReplicas() throws SQLException {
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		Connection first = mock(Connection.class);
+		Connection second = mock(Connection.class);
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary,
+				List.of(replica("replica-1", first), replica("replica-2", second)), 1000);
+
+		Connection a = routing.getConnection();
+		Connection b = routing.getConnection();
+		Connection c = routing.getConnection();
+
+		assertSame(first, a);
+		assertSame(second, b);
+		assertSame(first, c);
+	}
+
+	@Test
+	void fallsBackToPrimaryWhenReplicaIsDown() throws SQLException {
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		DataSource broken = mock(DataSource.class);
+		when(broken.getConnection()).thenThrow(new SQLException("Connection refused"));
+		ReplicaRoutingDataSource.Replica replica = new ReplicaRoutingDataSource.Replica("replica-1", broken);
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1000);
+
+		assertSame(primaryConnection, routing.getConnection());
+		assertFalse(replica.isHealthy());
+	}
+
+	@Test
+	void healthCheckFailureTakesReplicaOutOfRotation() throws SQLException {
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		DataSource broken = mock(DataSource.class);
+		when(broken.getConnection()).thenThrow(new SQLException("Connection refused"));
+		ReplicaRoutingDataSource.Replica replica = new ReplicaRoutingDataSource.Replica("replica-1", broken);
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1000);
+
+		routing.checkReplicas();
+
+		assertFalse(replica.isHealthy());
+		assertSame(primaryConnection, routing.getConnection());
+	}
+
+	@Test
+	void pinnedReadsGoToPrimary() throws SQLException {
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary,
+				List.of(replica("replica-1", mock(Connection.class))), 1000);
+		ReadYourWritesGuard guard = new ReadYourWritesGuard();
+		ReflectionTestUtils.setField(guard, "windowMs", 5000L);
+		guard.pin("order:42");
+
+		TransactionSynchronizationManager.initSynchronization();
+		guard.routeToPrimaryIfPinned("order:7");
+		assertFalse(ReadYourWritesGuard.isPrimaryRequired());
+
+		guard.routeToPrimaryIfPinned("order:42");
+		assertTrue(ReadYourWritesGuard.isPrimaryRequired());
+		assertSame(primaryConnection, routing.getConnection());
+	}
+
+	private static ReplicaRoutingDataSource.Replica replica(String name, Connection connection) throws SQLException {
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		return new ReplicaRoutingDataSource.Replica(name, dataSource);
+	}
+}
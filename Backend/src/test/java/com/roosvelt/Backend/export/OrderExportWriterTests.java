@@ -0,0 +1,121 @@
+package com.roosvelt.Backend.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderExportWriterTests {
+
+	private static final int ORDER_COUNT = 1_000_000;
+	private static final long MAX_HEAP_GROWTH = 8 * 1024 * 1024;
+
+	@ParameterizedTest
+	@EnumSource(ExportFormat.class)
+	void heapStaysConstantOverOneMillionOrders(ExportFormat format) throws IOException {
+		CountingOutputStream out = new CountingOutputStream();
+		OrderExportWriter writer = format.createWriter(out);
+		OrderExportRow row = syntheticRow();
+
+		long heapAfterWarmup = 0;
+		for (int i = 0; i < ORDER_COUNT; i++) {
+			row.setOrderId("order_" + i);
+			for (long line = 1; line <= 2; line++) {
+				row.setProductId(line);
+				writer.write(row);
+			}
+			if (i == ORDER_COUNT / 10) {
+				heapAfterWarmup = usedHeapAfterGc();
+			}
+		}
+		writer.finish();
+		long heapGrowth = usedHeapAfterGc() - heapAfterWarmup;
+
+		assertTrue(out.count > ORDER_COUNT * 100L, "export output looks truncated: " + out.count + " bytes");
+		assertTrue(heapGrowth < MAX_HEAP_GROWTH, "heap grew by " + heapGrowth + " bytes while exporting " + format);
+	}
+
+	@Test
+	void csvQuotesFieldsAndWritesOneLinePerItem() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OrderExportWriter writer = ExportFormat.CSV.createWriter(out);
+		OrderExportRow row = syntheticRow();
+		row.setAddress("Rue 12, \"Bonamoussadi\"");
+		writer.write(row);
+		writer.finish();
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(2, lines.length);
+		assertEquals("order_1,2026-01-15T10:30:00,pending,Jean,Mbarga,699000000,\"Rue 12, \"\"Bonamoussadi\"\"\",Douala,Akwa,"
+				+ "50000,1,Plaquettes de frein,freinage,25000,2,50000", lines[1]);
+	}
+
+	@Test
+	void ndjsonFoldsConsecutiveLinesIntoOneOrder() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OrderExportWriter writer = ExportFormat.NDJSON.createWriter(out);
+		OrderExportRow row = syntheticRow();
+		writer.write(row);
+		row.setProductId(2L);
+		writer.write(row);
+		row.setOrderId("order_2");
+		writer.write(row);
+		writer.finish();
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].startsWith("{\"id\":\"order_1\""));
+		assertTrue(lines[0].contains("\"items\":[{\"productId\":1,") && lines[0].contains("{\"productId\":2,"));
+		assertTrue(lines[1].startsWith("{\"id\":\"order_2\""));
+	}
+
+	private static OrderExportRow syntheticRow() {
+		OrderExportRow row = new OrderExportRow();
+		row.setOrderId("order_1");
+		row.setCreatedAt(LocalDateTime.of(2026, 1, 15, 10, 30));
+		row.setStatus("pending");
+		row.setFirstName("Jean");
+		row.setLastName("Mbarga");
+		row.setPhone("699000000");
+		row.setAddress("Rue 12");
+		row.setCity("Douala");
+		row.setQuarter("Akwa");
+		row.setTotal(50000);
+		row.setProductId(1L);
+		row.setProductName("Plaquettes de frein");
+		row.setProductCategory("freinage");
+		row.setUnitPrice(25000);
+		row.setQuantity(2);
+		return row;
+	}
+
+	private static long usedHeapAfterGc() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static class CountingOutputStream extends OutputStream {
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package com.roosvelt.Backend.invalidation;
+
+import com.roosvelt.Backend.ServiceTest;
+import com.roosvelt.Backend.ServiceTestFixture;
+import com.roosvelt.Backend.datasource.ReadYourWritesGuard;
+import com.roosvelt.Backend.entity.Category;
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.repository.CategoryRepository;
+import com.roosvelt.Backend.service.CategoryService;
+import com.roosvelt.Backend.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.roosvelt.Backend.ServiceTestFixture.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Another instance's writes are played as SQL behind Hibernate's back, then announced the way
+// InvalidationListener hands them over: this instance must serve the new rows, and only evict what it was told
+@ServiceTest
+class CacheInvalidatorTests {
+
+	@Autowired
+	private ServiceTestFixture fixture;
+
+	@Autowired
+	private CacheInvalidator cacheInvalidator;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ReadYourWritesGuard readYourWritesGuard;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		fixture.reset();
+	}
+
+	@Test
+	void payloadRoundTrip() {
+		ChangeNotification notification = ChangeNotification.parse(
+				new ChangeNotification("3f2a9c1e", 42, CacheChange.Entity.CATEGORY, "pieces moteur").toPayload());
+		assertEquals("3f2a9c1e", notification.getOrigin());
+		assertEquals(42, notification.getVersion());
+		assertEquals(CacheChange.Entity.CATEGORY, notification.getEntity());
+		assertEquals("pieces moteur", notification.getId());
+
+		assertThrows(IllegalArgumentException.class, () -> ChangeNotification.parse("3f2a9c1e 42 p"));
+		assertThrows(IllegalArgumentException.class, () -> ChangeNotification.parse("3f2a9c1e 42 x 17"));
+	}
+
+	@Test
+	void announcedProductIsEvictedAndTheOthersStayCached() {
+		Long pads = productService.createProduct(product("Plaquettes", 25000, "freinage")).getId();
+		Long disc = productService.createProduct(product("Disque", 40000, "freinage")).getId();
+		warm();
+		renameBehindTheCache(pads, "Plaquettes céramique");
+		renameBehindTheCache(disc, "Disque ventilé");
+
+		cacheInvalidator.apply(List.of(notification("a", 1, CacheChange.Entity.PRODUCT, pads)));
+
+		assertEquals("Plaquettes céramique", productService.getProductById(pads).getName());
+		// Not announced: still the cached row
+		assertEquals("Disque", productService.getProductById(disc).getName());
+		// Query results are all dropped, and re-running them reads every row again
+		assertEquals(1, productService.searchProducts("céramique", "price_asc").getCount());
+		assertEquals(List.of("Plaquettes céramique", "Disque ventilé"), names(productService.getAllProducts("price_asc")
+				.getProducts()));
+	}
+
+	@Test
+	void missedNotificationEmptiesEveryCache() {
+		Long pads = productService.createProduct(product("Plaquettes", 25000, "freinage")).getId();
+		Long disc = productService.createProduct(product("Disque", 40000, "freinage")).getId();
+		categoryService.createCategory(new Category("freinage", "Freinage", null));
+		warm();
+		renameBehindTheCache(disc, "Disque ventilé");
+		jdbcTemplate.update("UPDATE categories SET name = ? WHERE id = ?", "Freins", "freinage");
+
+		cacheInvalidator.apply(List.of(notification("a", 1, CacheChange.Entity.PRODUCT, pads)));
+		assertEquals("Disque", productService.getProductById(disc).getName());
+		// Version 2 never arrived
+		cacheInvalidator.apply(List.of(notification("a", 3, CacheChange.Entity.PRODUCT, pads),
+				notification("b", 7, CacheChange.Entity.ORDER, "order_1")));
+
+		assertEquals("Disque ventilé", productService.getProductById(disc).getName());
+		assertEquals("Freins", categoryService.getCategoryById("freinage").getName());
+		assertEquals(1, meterRegistry.counter("cache.invalidation.resyncs", "reason", "missed").count());
+	}
+
+	@Test
+	void announcedCategoryIsEvictedFromEntityAndList() {
+		categoryService.createCategory(new Category("freinage", "Freinage", null));
+		categoryService.createCategory(new Category("moteur", "Moteur", null));
+		categoryService.getAllCategories();
+		categoryService.getCategoryById("freinage");
+		jdbcTemplate.update("UPDATE categories SET name = ? WHERE id = ?", "Freins", "freinage");
+		jdbcTemplate.update("DELETE FROM categories WHERE id = ?", "moteur");
+
+		cacheInvalidator.apply(List.of(notification("a", 1, CacheChange.Entity.CATEGORY, "freinage"),
+				notification("a", 2, CacheChange.Entity.CATEGORY, "moteur")));
+
+		assertEquals("Freins", categoryService.getCategoryById("freinage").getName());
+		assertEquals(List.of("freinage"), categoryService.getAllCategories().stream().map(Category::getId).toList());
+	}
+
+	@Test
+	void catalogueReadsGoToThePrimaryAfterAnAnnouncedChange() {
+		cacheInvalidator.apply(List.of(notification("a", 1, CacheChange.Entity.CATEGORY, "freinage")));
+
+		// What the catalogue reads do first: the replica may not have replayed the change yet
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		Boolean primary = readOnly.execute(status -> {
+			readYourWritesGuard.routeToPrimaryIfPinned(ReadYourWritesGuard.CATALOG);
+			return ReadYourWritesGuard.isPrimaryRequired();
+		});
+		assertTrue(primary);
+	}
+
+	private void warm() {
+		for (Product product : productService.getAllProducts("price_asc").getProducts()) {
+			productService.getProductById(product.getId());
+		}
+		productService.searchProducts("céramique", "price_asc");
+		productService.searchProducts("ventilé", "price_asc");
+		categoryService.getAllCategories();
+		categoryRepository.findAll().forEach(category -> categoryService.getCategoryById(category.getId()));
+	}
+
+	private void renameBehindTheCache(Long id, String name) {
+		jdbcTemplate.update("UPDATE products SET name = ? WHERE id = ?", name, id);
+	}
+
+	private static ChangeNotification notification(String origin, long version, CacheChange.Entity entity, Object id) {
+		return new ChangeNotification(origin, version, entity, String.valueOf(id));
+	}
+
+	private static List<String> names(List<Product> products) {
+		return products.stream().map(Product::getName).toList();
+	}
+}
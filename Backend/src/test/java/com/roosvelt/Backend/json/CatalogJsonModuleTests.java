@@ -0,0 +1,110 @@
+package com.roosvelt.Backend.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.roosvelt.Backend.dto.OrderEvent;
+import com.roosvelt.Backend.dto.OrderResponse;
+import com.roosvelt.Backend.dto.ProductOrderItemResponse;
+import com.roosvelt.Backend.dto.ProductResponse;
+import com.roosvelt.Backend.entity.CustomerInfo;
+import com.roosvelt.Backend.entity.Order;
+import com.roosvelt.Backend.entity.OrderItem;
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.entity.ProductImageVariant;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Golden output: the precompiled serializers must produce exactly the bytes of the reflective ones
+class CatalogJsonModuleTests {
+
+	// Spring Boot's mapper writes dates as ISO strings
+	private ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+	private ObjectMapper precompiled = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.modulesToInstall(new CatalogJsonModule()).build();
+
+	@Test
+	void productResponseMatchesReflectiveOutput() throws Exception {
+		List<Product> products = new ArrayList<>();
+		products.add(product(1L, "Plaquettes de frein", LocalDateTime.of(2025, 1, 15, 10, 30)));
+		products.add(product(2L, "Filtre \"sport\" à huile\n\t\u0001 — 🚗", LocalDateTime.of(2025, 3, 2, 8, 5, 9, 120_000_000)));
+		products.add(product(3L, "Bougie", LocalDateTime.of(2026, 12, 31, 23, 59, 59, 123_456_000)));
+		Product sparse = new Product();
+		sparse.setImages(List.of());
+		products.add(sparse);
+		products.add(product(4L, "Batterie", LocalDateTime.of(-1, 1, 1, 0, 0, 0, 1)));
+
+		assertSameBytes(new ProductResponse(products, products.size()));
+		assertSameBytes(products.get(1));
+		assertSameBytes(new ProductResponse(null, 0));
+	}
+
+	@Test
+	void datesFollowTheTimestampSetting() throws Exception {
+		reflective = Jackson2ObjectMapperBuilder.json().build();
+		precompiled = Jackson2ObjectMapperBuilder.json().modulesToInstall(new CatalogJsonModule()).build();
+		Product product = product(1L, "Plaquettes de frein", LocalDateTime.of(2025, 3, 2, 8, 5, 9, 120_000_000));
+
+		assertSameBytes(new ProductResponse(List.of(product), 1));
+	}
+
+	@Test
+	void ordersMatchReflectiveOutput() throws Exception {
+		Order order = new Order(new CustomerInfo("Jean", "Mbarga", "699000000", "Rue 12, \"Bonamoussadi\"", "Douala", "Akwa"),
+				null, 75000);
+		order.setId("order_1700000000000");
+		order.setCreatedAt(LocalDateTime.of(2026, 1, 15, 10, 30, 0, 500_000));
+		OrderItem item = new OrderItem(product(1L, "Plaquettes de frein", LocalDateTime.of(2025, 1, 15, 10, 30)), 3);
+		Product noImage = product(2L, "Disque", LocalDateTime.of(2025, 1, 15, 10, 30));
+		noImage.setImages(List.of());
+		OrderItem withoutImage = new OrderItem(noImage, 1);
+		order.setItems(List.of(item, withoutImage));
+		OrderResponse response = new OrderResponse(order);
+
+		Order bare = new Order();
+		bare.setItems(List.of());
+		bare.setStatus(null);
+		OrderResponse empty = new OrderResponse(bare);
+
+		// Every product field of an order line comes from the snapshot
+		ProductOrderItemResponse sold = response.getItems().get(0).getProduct();
+		assertEquals("Plaquettes de frein d'origine, livraison à Douala", sold.getDescription());
+		assertEquals("6 mois", sold.getWarranty());
+		assertEquals(LocalDateTime.of(2025, 1, 15, 10, 30), sold.getCreatedAt());
+		assertNotNull(sold.getUpdatedAt());
+
+		assertSameBytes(response);
+		assertSameBytes(empty);
+		assertSameBytes(Arrays.asList(response, empty, null));
+		assertSameBytes(new OrderEvent(OrderEvent.EventType.CREATED, response));
+	}
+
+	private void assertSameBytes(Object value) throws Exception {
+		byte[] expected = reflective.writeValueAsBytes(value);
+		byte[] actual = precompiled.writeValueAsBytes(value);
+		assertEquals(new String(expected, StandardCharsets.UTF_8), new String(actual, StandardCharsets.UTF_8));
+		assertArrayEquals(expected, actual);
+	}
+
+	private static Product product(Long id, String name, LocalDateTime createdAt) {
+		Product product = new Product(name, name + " d'origine, livraison à Douala", 25000,
+				List.of("https://ik.imagekit.io/shop/" + id + ".jpg"), "freinage", "6 mois");
+		product.setId(id);
+		product.setCreatedAt(createdAt);
+		product.setUpdatedAt(createdAt.plusNanos(1_000));
+		product.setImageVariants(List.of(new ProductImageVariant(product.getImages().get(0), 200, "w200.jpg"),
+				new ProductImageVariant(null, null, null)));
+		return product;
+	}
+}
@@ -0,0 +1,109 @@
+package com.roosvelt.Backend.monitoring;
+
+import com.roosvelt.Backend.storage.ImageStorage;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HealthMonitorTests {
+
+	private final HikariDataSource pool = mock(HikariDataSource.class);
+	private final HikariPoolMXBean mxBean = mock(HikariPoolMXBean.class);
+	private final ImageStorage imageStorage = mock(ImageStorage.class);
+	private final Connection connection = mock(Connection.class);
+	private final HealthMonitor monitor = new HealthMonitor();
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		when(pool.getHikariPoolMXBean()).thenReturn(mxBean);
+		when(pool.getMaximumPoolSize()).thenReturn(10);
+		when(pool.getConnection()).thenReturn(connection);
+		when(connection.isValid(2)).thenReturn(true);
+		ReflectionTestUtils.setField(monitor, "pool", pool);
+		ReflectionTestUtils.setField(monitor, "imageStorage", imageStorage);
+		ReflectionTestUtils.setField(monitor, "maxAgeMs", 30000L);
+		ReflectionTestUtils.setField(monitor, "saturatedChecks", 3);
+		ReflectionTestUtils.setField(monitor, "imageStorageIntervalMs", 60000L);
+	}
+
+	@Test
+	void notReadyBeforeFirstCheck() {
+		assertFalse(monitor.isReady());
+	}
+
+	@Test
+	void readyWhenDatabaseAnswers() {
+		monitor.refresh();
+
+		assertTrue(monitor.isReady());
+		assertEquals("UP", monitor.getStatus().get("status"));
+	}
+
+	@Test
+	void notReadyWhenDatabaseIsDown() throws SQLException {
+		when(pool.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+		monitor.refresh();
+
+		assertFalse(monitor.isReady());
+		assertEquals("DOWN", ((Map<?, ?>) monitor.getStatus().get("database")).get("status"));
+	}
+
+	@Test
+	void saturatedPoolFailsReadinessAfterConsecutiveChecksWithoutBorrowing() throws SQLException {
+		monitor.refresh();
+		when(mxBean.getActiveConnections()).thenReturn(10);
+		when(mxBean.getThreadsAwaitingConnection()).thenReturn(4);
+
+		monitor.refresh();
+		monitor.refresh();
+		assertTrue(monitor.isReady());
+		monitor.refresh();
+
+		assertFalse(monitor.isReady());
+		// Only the first check borrowed a connection
+		verify(pool, times(1)).getConnection();
+
+		when(mxBean.getThreadsAwaitingConnection()).thenReturn(0);
+		monitor.refresh();
+		assertTrue(monitor.isReady());
+	}
+
+	@Test
+	void imageStorageIsReportedButOptionalByDefault() throws Exception {
+		doThrow(new IOException("ImageKit a répondu 503")).when(imageStorage).checkReachable();
+
+		monitor.refresh();
+		assertTrue(monitor.isReady());
+		assertEquals("DOWN", ((Map<?, ?>) monitor.getStatus().get("imageStorage")).get("status"));
+
+		ReflectionTestUtils.setField(monitor, "imageStorageRequired", true);
+		monitor.refresh();
+		assertFalse(monitor.isReady());
+	}
+
+	@Test
+	void staleResultIsNotReady() {
+		monitor.refresh();
+		ReflectionTestUtils.setField(monitor, "checkedAt", System.currentTimeMillis() - 60000);
+
+		assertFalse(monitor.isReady());
+		assertEquals("DOWN", monitor.getStatus().get("status"));
+	}
+}
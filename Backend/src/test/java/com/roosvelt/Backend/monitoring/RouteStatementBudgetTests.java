@@ -0,0 +1,132 @@
+package com.roosvelt.Backend.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roosvelt.Backend.ServiceTest;
+import com.roosvelt.Backend.ServiceTestFixture;
+import com.roosvelt.Backend.controller.OrderController;
+import com.roosvelt.Backend.controller.ProductController;
+import com.roosvelt.Backend.dto.CreateOrderItemRequest;
+import com.roosvelt.Backend.dto.CreateOrderRequest;
+import com.roosvelt.Backend.dto.OrderResponse;
+import com.roosvelt.Backend.entity.CustomerInfo;
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.service.OrderService;
+import com.roosvelt.Backend.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.handler.WebRequestHandlerInterceptorAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.roosvelt.Backend.ServiceTestFixture.product;
+import static com.roosvelt.Backend.monitoring.StatementBudgetAssertions.assertWithinBudget;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The @StatementBudget of the main routes, checked on a catalogue and order history large enough for an N+1
+// to show. Responses are serialized with open-in-view, as in the application, so lazy loads are counted too.
+@ServiceTest
+@Import(StatementBudgetInterceptor.class)
+class RouteStatementBudgetTests {
+
+	private static final int PRODUCTS = 12;
+	private static final int ORDERS = 8;
+
+	@Autowired
+	private ServiceTestFixture fixture;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private StatementBudgetInterceptor statementBudgetInterceptor;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private MockMvc mockMvc;
+	private List<Product> products;
+	private String orderId;
+
+	@BeforeEach
+	void setUp() {
+		fixture.reset();
+		products = new ArrayList<>();
+		for (int i = 0; i < PRODUCTS; i++) {
+			products.add(productService.createProduct(product("Pièce " + i, 1000 + i, i % 2 == 0 ? "freinage" : "moteur",
+					"piece-" + i + "-a.jpg", "piece-" + i + "-b.jpg")));
+		}
+		for (int i = 0; i < ORDERS; i++) {
+			orderId = orderService.createOrder(order(products.get(i), products.get(i + 1))).getId();
+		}
+
+		ProductController productController = new ProductController();
+		ReflectionTestUtils.setField(productController, "productService", productService);
+		OrderController orderController = new OrderController();
+		ReflectionTestUtils.setField(orderController, "orderService", orderService);
+		OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+		openInView.setEntityManagerFactory(entityManagerFactory);
+		mockMvc = MockMvcBuilders.standaloneSetup(productController, orderController)
+				.addInterceptors(statementBudgetInterceptor, new WebRequestHandlerInterceptorAdapter(openInView))
+				.build();
+		// The routes are checked cold: nothing from the seeding is served from the caches
+		fixture.evictCaches();
+	}
+
+	@Test
+	void getAllProducts() throws Exception {
+		assertWithinBudget(mockMvc.perform(get("/api/products")).andExpect(status().isOk()).andReturn());
+	}
+
+	@Test
+	void getAllOrders() throws Exception {
+		assertWithinBudget(mockMvc.perform(get("/api/orders")).andExpect(status().isOk()).andReturn());
+	}
+
+	@Test
+	void getOrderById() throws Exception {
+		assertWithinBudget(mockMvc.perform(get("/api/orders/" + orderId)).andExpect(status().isOk()).andReturn());
+	}
+
+	@Test
+	void createOrder() throws Exception {
+		byte[] body = objectMapper.writeValueAsBytes(order(products.toArray(new Product[0])));
+
+		assertWithinBudget(mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isCreated()).andReturn());
+	}
+
+	private static CreateOrderRequest order(Product... items) {
+		CreateOrderRequest request = new CreateOrderRequest();
+		request.setCustomerInfo(new CustomerInfo("Jean", "Mbarga", "699000000", "Rue 12", "Douala", "Akwa"));
+		List<CreateOrderItemRequest> lines = new ArrayList<>();
+		int total = 0;
+		for (Product item : items) {
+			CreateOrderItemRequest line = new CreateOrderItemRequest();
+			Product reference = new Product();
+			reference.setId(item.getId());
+			line.setProduct(reference);
+			line.setQuantity(2);
+			lines.add(line);
+			total += 2 * item.getPrice();
+		}
+		request.setItems(lines);
+		request.setTotal(total);
+		return request;
+	}
+}
@@ -0,0 +1,53 @@
+package com.roosvelt.Backend.monitoring;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Test helpers for SQL statement budgets.
+//
+// Around a direct call (service or controller bean, same thread):
+//   List<OrderResponse> orders = assertStatementsAtMost(2, () -> orderService.getAllOrders());
+//
+// After a MockMvc request, against the budget StatementBudgetInterceptor applied to it (the @StatementBudget
+// of the controller method, else sql.budget.default-statements):
+//   assertWithinBudget(mockMvc.perform(get("/api/products")).andReturn());
+public final class StatementBudgetAssertions {
+
+	private StatementBudgetAssertions() {
+	}
+
+	public static <T> T assertStatementsAtMost(int maxStatements, Supplier<T> call) {
+		SqlStatementStats stats = SqlStatementStats.start();
+		T result;
+		try {
+			result = call.get();
+		} finally {
+			SqlStatementStats.stop();
+		}
+		assertTrue(stats.getStatements() <= maxStatements,
+				"Expected at most " + maxStatements + " SQL statements but " + stats.getStatements() + " ran");
+		return result;
+	}
+
+	public static void assertStatementsAtMost(int maxStatements, Runnable call) {
+		assertStatementsAtMost(maxStatements, () -> {
+			call.run();
+			return null;
+		});
+	}
+
+	public static void assertWithinBudget(MvcResult result) {
+		HandlerMethod handler = assertInstanceOf(HandlerMethod.class, result.getHandler(), "Request was not handled by a controller method");
+		Object statements = result.getRequest().getAttribute(StatementBudgetInterceptor.STATEMENTS_ATTRIBUTE);
+		assertNotNull(statements, "No statement count recorded, is StatementBudgetInterceptor registered?");
+		Object budget = result.getRequest().getAttribute(StatementBudgetInterceptor.BUDGET_ATTRIBUTE);
+		assertTrue((Integer) statements <= (Integer) budget, handler.getShortLogMessage() + " ran " + statements
+				+ " SQL statements, budget is " + budget);
+	}
+}
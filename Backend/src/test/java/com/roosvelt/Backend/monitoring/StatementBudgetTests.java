@@ -0,0 +1,51 @@
+package com.roosvelt.Backend.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static com.roosvelt.Backend.monitoring.StatementBudgetAssertions.assertStatementsAtMost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StatementBudgetTests {
+
+	private final SqlStatementListener listener = new SqlStatementListener();
+
+	@AfterEach
+	void clear() {
+		SqlStatementStats.stop();
+	}
+
+	@Test
+	void countsStatementsAndBatchesOfTheCurrentThread() {
+		SqlStatementStats stats = SqlStatementStats.start();
+		executeStatements(3);
+		listener.jdbcExecuteBatchStart();
+		listener.jdbcExecuteBatchEnd();
+
+		assertEquals(4, stats.getStatements());
+		assertEquals(stats, SqlStatementStats.stop());
+		assertNull(SqlStatementStats.current());
+	}
+
+	@Test
+	void ignoresStatementsOutsideARequest() {
+		executeStatements(2);
+
+		assertNull(SqlStatementStats.current());
+	}
+
+	@Test
+	void failsWhenBudgetIsExceeded() {
+		assertStatementsAtMost(2, () -> executeStatements(2));
+		assertThrows(AssertionError.class, () -> assertStatementsAtMost(2, () -> executeStatements(3)));
+	}
+
+	private void executeStatements(int count) {
+		for (int i = 0; i < count; i++) {
+			listener.jdbcExecuteStatementStart();
+			listener.jdbcExecuteStatementEnd();
+		}
+	}
+}
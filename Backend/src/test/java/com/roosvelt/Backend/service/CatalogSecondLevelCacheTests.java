@@ -0,0 +1,128 @@
+package com.roosvelt.Backend.service;
+
+import com.roosvelt.Backend.ServiceTest;
+import com.roosvelt.Backend.ServiceTestFixture;
+import com.roosvelt.Backend.entity.Category;
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.roosvelt.Backend.ServiceTestFixture.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Second-level and query cache behaviour of the catalogue against an in-memory database: every service call
+// commits on its own, like a request, and "from the cache" means no statement was prepared for it
+@ServiceTest
+class CatalogSecondLevelCacheTests {
+
+	@Autowired
+	private ServiceTestFixture fixture;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		fixture.reset();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+	}
+
+	@Test
+	void productAndImagesAreServedFromTheCache() {
+		Long id = productService.createProduct(product("Plaquettes avant", 25000, "freinage", "a.jpg")).getId();
+		imagesOf(id);
+		long statements = statistics.getPrepareStatementCount();
+
+		assertEquals(List.of("a.jpg"), imagesOf(id));
+		assertEquals("Plaquettes avant", productService.getProductById(id).getName());
+
+		assertEquals(statements, statistics.getPrepareStatementCount());
+		assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+	}
+
+	@Test
+	void updateProductRefreshesEntityAndImages() {
+		Long id = productService.createProduct(product("Disque", 40000, "freinage", "a.jpg")).getId();
+		imagesOf(id);
+
+		Product changes = new Product();
+		changes.setName("Disque ventilé");
+		changes.setImages(new ArrayList<>(List.of("b.jpg", "c.jpg")));
+		productService.updateProduct(id, changes);
+
+		assertEquals("Disque ventilé", productService.getProductById(id).getName());
+		assertEquals(List.of("b.jpg", "c.jpg"), imagesOf(id));
+	}
+
+	@Test
+	void createAndDeleteProductInvalidateSortedQueries() {
+		productService.createProduct(product("Filtre à huile", 8000, "freinage", "f.jpg"));
+		productService.getAllProducts("price_asc");
+		long statements = statistics.getPrepareStatementCount();
+		assertEquals(1, productService.getAllProducts("price_asc").getCount());
+		assertEquals(statements, statistics.getPrepareStatementCount());
+		assertTrue(statistics.getQueryCacheHitCount() > 0);
+
+		Long created = productService.createProduct(product("Bougie", 3000, "freinage", "b.jpg")).getId();
+		List<Product> afterCreate = productService.getAllProducts("price_asc").getProducts();
+		assertEquals(List.of("Bougie", "Filtre à huile"), afterCreate.stream().map(Product::getName).toList());
+
+		productService.deleteProduct(created);
+		assertEquals(1, productService.getAllProducts("price_asc").getCount());
+		assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(created));
+	}
+
+	@Test
+	void categoryWritesInvalidateEntityAndList() {
+		categoryService.createCategory(new Category("freinage", "Freinage", null));
+		categoryService.getAllCategories();
+		long statements = statistics.getPrepareStatementCount();
+		assertEquals(1, categoryService.getAllCategories().size());
+		assertEquals("Freinage", categoryService.getCategoryById("freinage").getName());
+		assertEquals(statements, statistics.getPrepareStatementCount());
+
+		categoryService.createCategory(new Category("moteur", "Moteur", null));
+		assertEquals(2, categoryService.getAllCategories().size());
+
+		Category changes = new Category();
+		changes.setName("Freins");
+		categoryService.updateCategory("freinage", changes);
+		assertEquals("Freins", categoryService.getCategoryById("freinage").getName());
+		assertTrue(categoryService.getAllCategories().stream().anyMatch(c -> c.getName().equals("Freins")));
+
+		categoryService.deleteCategory("moteur");
+		assertThrows(ResourceNotFoundException.class, () -> categoryService.getCategoryById("moteur"));
+		assertFalse(categoryService.getAllCategories().stream().anyMatch(c -> c.getId().equals("moteur")));
+	}
+
+	private List<String> imagesOf(Long id) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		return transaction.execute(status -> List.copyOf(productService.getProductById(id).getImages()));
+	}
+}
@@ -0,0 +1,211 @@
+package com.roosvelt.Backend.service;
+
+import com.roosvelt.Backend.ServiceTest;
+import com.roosvelt.Backend.ServiceTestFixture;
+import com.roosvelt.Backend.dto.ImageUploadResult;
+import com.roosvelt.Backend.dto.UploadedImage;
+import com.roosvelt.Backend.entity.StoredImage;
+import com.roosvelt.Backend.repository.ProductRepository;
+import com.roosvelt.Backend.repository.StoredImageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.roosvelt.Backend.ServiceTestFixture.product;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Reference counting of deduplicated uploads and the orphan collector, with the image storage mocked
+@ServiceTest
+@Import({ ImageLibraryService.class, OrphanImageCollector.class })
+@MockitoBean(types = ImageUploadService.class)
+@TestPropertySource(properties = { "images.gc.grace-period=PT1H", "images.gc.delete-interval-ms=0" })
+class ImageLibraryServiceTests {
+
+	private static final String SHA = "a".repeat(64);
+
+	@Autowired
+	private ServiceTestFixture fixture;
+
+	@Autowired
+	private ImageLibraryService imageLibraryService;
+
+	@Autowired
+	private OrphanImageCollector collector;
+
+	@Autowired
+	private StoredImageRepository storedImageRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private ImageUploadService imageUploadService;
+
+	@Autowired
+	private ImageVariantService imageVariantService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fixture.reset();
+		storedImageRepository.deleteAll();
+		when(imageUploadService.delete(anyString())).thenReturn(true);
+		when(imageVariantService.createVariantsAsync(any(), anyString(), anyString()))
+				.thenReturn(CompletableFuture.completedFuture(Map.of()));
+	}
+
+	@Test
+	void duplicateUploadsShareOneFileUntilTheLastRelease() throws Exception {
+		MockMultipartFile file = image();
+		when(imageUploadService.uploadAsync(eq(file), anyString()))
+				.thenReturn(CompletableFuture.completedFuture(uploaded("a", SHA)));
+		// Same size as a stored image: hashed before anything is uploaded
+		when(imageUploadService.sha256Async(file)).thenReturn(CompletableFuture.completedFuture(SHA));
+
+		UploadedImage first = imageLibraryService.upload(file, "png").join();
+		UploadedImage second = imageLibraryService.upload(file, "png").join();
+
+		assertEquals(first.getUrl(), second.getUrl());
+		verify(imageUploadService, times(1)).uploadAsync(eq(file), anyString());
+		assertEquals(2, storedImageRepository.findById(SHA).orElseThrow().getReferenceCount());
+
+		assertTrue(imageLibraryService.release("file-a"));
+		verify(imageUploadService, never()).delete(anyString());
+		assertEquals(1, storedImageRepository.findById(SHA).orElseThrow().getReferenceCount());
+
+		assertTrue(imageLibraryService.release("file-a"));
+		verify(imageUploadService).delete("file-a");
+		assertFalse(storedImageRepository.existsById(SHA));
+	}
+
+	@Test
+	void contentStoredMeanwhileKeepsThatCopyAndDropsOurs() throws Exception {
+		MockMultipartFile file = image();
+		Map<Integer, ImageUploadResult> variants = Map.of(200, uploaded("b-200w", null));
+		when(imageVariantService.createVariantsAsync(any(), anyString(), anyString()))
+				.thenReturn(CompletableFuture.completedFuture(variants));
+		when(imageUploadService.uploadAsync(eq(file), anyString())).thenAnswer(invocation -> {
+			// Another instance registers the same bytes while ours are uploading
+			store("other", LocalDateTime.now(), SHA);
+			return CompletableFuture.completedFuture(uploaded("b", SHA));
+		});
+
+		UploadedImage image = imageLibraryService.upload(file, "png").join();
+
+		assertEquals(url("other"), image.getUrl());
+		assertEquals(1, storedImageRepository.findById(SHA).orElseThrow().getReferenceCount());
+		verify(imageUploadService).delete("file-b");
+		verify(imageVariantService).discardVariants(variants);
+	}
+
+	@Test
+	void failedUploadDeletesItsVariants() throws Exception {
+		MockMultipartFile file = image();
+		Map<Integer, ImageUploadResult> variants = Map.of(200, uploaded("c-200w", null));
+		when(imageVariantService.createVariantsAsync(any(), anyString(), anyString()))
+				.thenReturn(CompletableFuture.completedFuture(variants));
+		when(imageUploadService.uploadAsync(eq(file), anyString()))
+				.thenReturn(CompletableFuture.failedFuture(new IllegalStateException("storage down")));
+
+		assertThrows(CompletionException.class, () -> imageLibraryService.upload(file, "png").join());
+		verify(imageVariantService).discardVariants(variants);
+		assertEquals(0, storedImageRepository.count());
+	}
+
+	@Test
+	void collectorDeletesOnlyOldUnreferencedImages() throws Exception {
+		LocalDateTime old = LocalDateTime.now().minusDays(2);
+		store("orphan", old);
+		store("recent", LocalDateTime.now());
+		store("used", old);
+		productRepository.save(product("Disque avant", 30000, "freinage", url("used")));
+		double deleted = counter("images.gc.deleted");
+		double reclaimed = counter("images.gc.reclaimed.bytes");
+
+		collector.collect();
+
+		assertFalse(storedImageRepository.existsById(sha("orphan")));
+		assertTrue(storedImageRepository.existsById(sha("recent")));
+		assertTrue(storedImageRepository.existsById(sha("used")));
+		verify(imageUploadService).delete("file-orphan");
+		verify(imageUploadService, times(1)).delete(anyString());
+		assertEquals(deleted + 1, counter("images.gc.deleted"));
+		assertEquals(reclaimed + 100, counter("images.gc.reclaimed.bytes"));
+	}
+
+	@Test
+	void refusedDeleteIsKeptForALaterRetry() throws Exception {
+		store("stuck", LocalDateTime.now().minusDays(2));
+		when(imageUploadService.delete("file-stuck")).thenReturn(false);
+		double deleted = counter("images.gc.deleted");
+		double failed = counter("images.gc.failed");
+
+		collector.collect();
+
+		StoredImage restored = storedImageRepository.findById(sha("stuck")).orElseThrow();
+		assertNotNull(restored.getGcFailedAt());
+		assertEquals(failed + 1, counter("images.gc.failed"));
+		assertEquals(deleted, counter("images.gc.deleted"));
+
+		// Not selected again before images.gc.retry-after
+		collector.collect();
+		verify(imageUploadService, times(1)).delete("file-stuck");
+	}
+
+	private StoredImage store(String name, LocalDateTime acquiredAt) {
+		return store(name, acquiredAt, sha(name));
+	}
+
+	private StoredImage store(String name, LocalDateTime acquiredAt, String sha256) {
+		StoredImage image = new StoredImage(sha256, url(name), "file-" + name, 100L, 20, 10);
+		image.setReferenceCount(0);
+		image.setCreatedAt(acquiredAt);
+		image.setLastAcquiredAt(acquiredAt);
+		return storedImageRepository.saveAndFlush(image);
+	}
+
+	private double counter(String name) {
+		return meterRegistry.get(name).counter().count();
+	}
+
+	private static MockMultipartFile image() {
+		return new MockMultipartFile("image", "disque.png", "image/png", new byte[100]);
+	}
+
+	private static ImageUploadResult uploaded(String name, String sha256) {
+		ImageUploadResult result = new ImageUploadResult(url(name), "file-" + name, 20, 10);
+		result.setSha256(sha256);
+		return result;
+	}
+
+	private static String sha(String name) {
+		return (name + "-".repeat(64)).substring(0, 64);
+	}
+
+	private static String url(String name) {
+		return "https://img/" + name + ".png";
+	}
+}
@@ -0,0 +1,102 @@
+package com.roosvelt.Backend.service;
+
+import com.roosvelt.Backend.dto.ImageUploadResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageVariantServiceTests {
+
+	private final ImageUploadService imageUploadService = mock(ImageUploadService.class);
+	private final ImageVariantService service = new ImageVariantService();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "widths", List.of(200, 800));
+		ReflectionTestUtils.setField(service, "quality", 0.8f);
+		ReflectionTestUtils.setField(service, "maxSourcePixels", 40_000_000L);
+		ReflectionTestUtils.setField(service, "imageUploadService", imageUploadService);
+		ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+		service.initialize();
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void oversizedHeaderIsRejectedBeforeDecoding() throws IOException {
+		// A few bytes claiming 30000x30000 pixels: decoding it would allocate gigabytes
+		MockMultipartFile bomb = new MockMultipartFile("image", "bomb.png", "image/png", pngHeader(30000, 30000));
+
+		Map<Integer, ImageUploadResult> variants = service.createVariantsAsync(bomb, "bomb.png", "png").join();
+
+		assertEquals(Map.of(), variants);
+		verify(imageUploadService, never()).uploadAsync(any(byte[].class), anyString(), anyString());
+	}
+
+	@Test
+	void largeSourceIsSubsampledToTheVariantWidths() throws IOException {
+		when(imageUploadService.uploadAsync(any(byte[].class), eq("image/jpeg"), anyString())).thenAnswer(invocation -> {
+			BufferedImage variant = ImageIO.read(new ByteArrayInputStream(invocation.getArgument(0)));
+			return CompletableFuture.completedFuture(
+					new ImageUploadResult(invocation.getArgument(2), null, variant.getHeight(), variant.getWidth()));
+		});
+		ByteArrayOutputStream png = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(4000, 1000, BufferedImage.TYPE_INT_RGB), "png", png);
+		MockMultipartFile large = new MockMultipartFile("image", "large.png", "image/png", png.toByteArray());
+
+		Map<Integer, ImageUploadResult> variants = service.createVariantsAsync(large, "large.png", "png").join();
+
+		assertEquals(List.of(200, 800), List.copyOf(variants.keySet()));
+		assertEquals(800, variants.get(800).getWidth());
+		assertEquals(200, variants.get(800).getHeight());
+		assertEquals(200, variants.get(200).getWidth());
+		assertEquals("large_800w.jpg", variants.get(800).getUrl());
+	}
+
+	// PNG signature and IHDR chunk only, with a valid CRC so readers trust the dimensions
+	private static byte[] pngHeader(int width, int height) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream data = new DataOutputStream(out);
+		data.write(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' });
+		ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+		DataOutputStream ihdr = new DataOutputStream(chunk);
+		ihdr.write("IHDR".getBytes(StandardCharsets.US_ASCII));
+		ihdr.writeInt(width);
+		ihdr.writeInt(height);
+		ihdr.write(new byte[] { 8, 2, 0, 0, 0 });
+		byte[] body = chunk.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(body);
+		data.writeInt(body.length - 4);
+		data.write(body);
+		data.writeInt((int) crc.getValue());
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,113 @@
+package com.roosvelt.Backend.service;
+
+import com.roosvelt.Backend.dto.ProductResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ProductQueryCacheTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ProductQueryCache cache = new ProductQueryCache();
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(cache, "maxSize", 100L);
+		ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+		cache.initialize();
+	}
+
+	@Test
+	void equivalentQueriesShareAnEntry() {
+		ProductResponse first = cache.filter("Freinage", null, 50000, "Plaquette", "price_asc", this::load);
+		ProductResponse second = cache.filter("freinage", null, 50000, "plaquette", "unknown", this::load);
+		ProductResponse other = cache.filter("freinage", 1000, 50000, "plaquette", "price_asc", this::load);
+
+		assertSame(first, second);
+		assertNotSame(first, other);
+		assertEquals(2, loads.get());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "products.query").tag("result", "hit")
+				.functionCounter().count());
+	}
+
+	@Test
+	void concurrentMissesComputeOnce() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<ProductResponse>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> cache.search("plaquette", "price_asc", () -> {
+					loading.countDown();
+					await(release);
+					return load();
+				})));
+			}
+			loading.await(5, TimeUnit.SECONDS);
+			Thread.sleep(100);
+			release.countDown();
+
+			ProductResponse first = results.get(0).get(5, TimeUnit.SECONDS);
+			for (Future<ProductResponse> result : results) {
+				assertSame(first, result.get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, loads.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void writesInvalidateEntries() {
+		ProductResponse before = cache.search("plaquette", "price_asc", this::load);
+		cache.invalidate();
+
+		assertNotSame(before, cache.search("plaquette", "price_asc", this::load));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void resultLoadedAcrossAWriteIsRecomputed() {
+		// The write lands while the query is running: what it read may predate the write
+		ProductResponse stale = cache.search("plaquette", "price_asc", () -> {
+			ProductResponse response = load();
+			cache.invalidate();
+			return response;
+		});
+		ProductResponse fresh = cache.search("plaquette", "price_asc", this::load);
+
+		assertNotSame(stale, fresh);
+		assertSame(fresh, cache.search("plaquette", "price_asc", this::load));
+	}
+
+	private ProductResponse load() {
+		loads.incrementAndGet();
+		return new ProductResponse(List.of(), 0);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package com.roosvelt.Backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.roosvelt.Backend.ServiceTest;
+import com.roosvelt.Backend.ServiceTestFixture;
+import com.roosvelt.Backend.entity.CustomerInfo;
+import com.roosvelt.Backend.entity.Order;
+import com.roosvelt.Backend.entity.OrderItem;
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.exception.BadRequestException;
+import com.roosvelt.Backend.exception.ResourceNotFoundException;
+import com.roosvelt.Backend.fields.FieldSelector;
+import com.roosvelt.Backend.fields.OrderField;
+import com.roosvelt.Backend.fields.ProductField;
+import com.roosvelt.Backend.json.CatalogJsonModule;
+import com.roosvelt.Backend.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// ?fields= end to end below the controllers: the sparse queries must return exactly the selected keys of the
+// full response, with the same values
+@ServiceTest
+class SparseFieldsetTests {
+
+	@Autowired
+	private ServiceTestFixture fixture;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.modulesToInstall(new CatalogJsonModule()).build();
+
+	private final FieldSelector<ProductField> productFields = new FieldSelector<>("/api/products", ProductField.class);
+	private final FieldSelector<OrderField> orderFields = new FieldSelector<>("/api/orders", OrderField.class);
+
+	@BeforeEach
+	void setUp() {
+		fixture.reset();
+	}
+
+	@Test
+	void selectorValidatesAndReusesParsedSelections() {
+		Set<ProductField> card = productFields.parse("id,name,price,images");
+		assertEquals(Set.of(ProductField.ID, ProductField.NAME, ProductField.PRICE, ProductField.IMAGES), card);
+		assertSame(card, productFields.parse("id,name,price,images"));
+
+		assertNull(productFields.parse(null));
+		assertNull(productFields.parse(" "));
+		assertNull(productFields.parse("id,name,description,price,images,imageVariants,category,warranty,createdAt,updatedAt"));
+
+		BadRequestException unknown = assertThrows(BadRequestException.class, () -> productFields.parse("id,stock"));
+		assertEquals("Unknown field 'stock' for /api/products, expected: "
+				+ "id,name,description,price,images,imageVariants,category,warranty,createdAt,updatedAt",
+				unknown.getMessage());
+		assertThrows(BadRequestException.class, () -> orderFields.parse(","));
+	}
+
+	@Test
+	void sparseProductsMatchTheFullResponse() throws Exception {
+		productService.createProduct(product("Plaquettes avant", 25000, "freinage"));
+		productService.createProduct(product("Disque ventilé", 40000, "freinage"));
+		productService.createProduct(product("Filtre à huile", 8000, "moteur"));
+		Set<ProductField> card = productFields.parse("name,price,images");
+
+		assertSparse(() -> productService.getAllProducts("price_desc"), productService.getAllProducts("price_desc", card),
+				"products", "id", "name", "price", "images");
+		assertSparse(() -> productService.searchProducts("disque", "price_asc"),
+				productService.searchProducts("disque", "price_asc", card), "products", "id", "name", "price", "images");
+
+		Set<ProductField> detail = productFields.parse("id,description,category,warranty,createdAt,imageVariants");
+		assertSparse(() -> productService.filterProducts("freinage", 20000, null, null, "name_asc"),
+				productService.filterProducts("freinage", 20000, null, null, "name_asc", detail),
+				"products", "id", "description", "category", "warranty", "createdAt", "imageVariants");
+		assertEquals(0, productService.filterProducts("moteur", null, 5000, "filtre", "price_asc", card).getCount());
+	}
+
+	@Test
+	void sparseOrdersMatchTheFullResponse() throws Exception {
+		Product pads = productService.createProduct(product("Plaquettes avant", 25000, "freinage"));
+		Product disc = productService.createProduct(product("Disque ventilé", 40000, "freinage"));
+		Order order = new Order(new CustomerInfo("Jean", "Mbarga", "699000000", "Rue 12", "Douala", "Akwa"),
+				new ArrayList<>(List.of(new OrderItem(pads, 2), new OrderItem(disc, 1))), 90000);
+		String id = orderRepository.save(order).getId();
+
+		Set<OrderField> summary = orderFields.parse("status,total,createdAt");
+		assertSparse(() -> orderService.getAllOrders(), orderService.getAllOrders(summary), null,
+				"id", "status", "total", "createdAt");
+		Set<OrderField> delivery = orderFields.parse("customerInfo,items");
+		assertSparse(() -> orderService.getOrdersByPhone("699000000"), orderService.getOrdersByPhone("699000000", delivery),
+				null, "id", "customerInfo", "items");
+		assertSparse(() -> orderService.getOrderById(id), orderService.getOrderById(id, delivery), null,
+				"id", "customerInfo", "items");
+		assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderById(id + "_2", summary));
+	}
+
+	// The sparse JSON is the full JSON with only the given keys kept, in the same order
+	private void assertSparse(Supplier<Object> full, Object sparse, String listKey, String... keys) throws Exception {
+		// The full entities are serialized inside a transaction, as open-in-view does for the controllers
+		byte[] json = new TransactionTemplate(transactionManager).execute(status -> write(full.get()));
+		JsonNode expected = mapper.readTree(json);
+		JsonNode actual = mapper.readTree(mapper.writeValueAsBytes(sparse));
+		JsonNode expectedItems = listKey == null ? expected : expected.get(listKey);
+		JsonNode actualItems = listKey == null ? actual : actual.get(listKey);
+		if (listKey != null) {
+			assertEquals(expected.get("count"), actual.get("count"));
+		}
+		if (expectedItems.isArray()) {
+			assertEquals(expectedItems.size(), actualItems.size());
+			for (int i = 0; i < expectedItems.size(); i++) {
+				assertEquals(retain((ObjectNode) expectedItems.get(i), keys), actualItems.get(i));
+			}
+		} else {
+			assertEquals(retain((ObjectNode) expectedItems, keys), actualItems);
+		}
+	}
+
+	private byte[] write(Object value) {
+		try {
+			return mapper.writeValueAsBytes(value);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static ObjectNode retain(ObjectNode node, String... keys) {
+		ObjectNode copy = node.deepCopy();
+		copy.retain(keys);
+		List<String> names = new ArrayList<>();
+		for (Iterator<String> it = copy.fieldNames(); it.hasNext(); ) {
+			names.add(it.next());
+		}
+		assertEquals(keys.length, names.size(), "missing keys in " + node);
+		return copy;
+	}
+
+	private static Product product(String name, int price, String category) {
+		return ServiceTestFixture.product(name, price, category, name.replace(' ', '-') + ".jpg", "extra.jpg");
+	}
+}
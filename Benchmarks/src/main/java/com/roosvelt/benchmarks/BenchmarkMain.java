@@ -0,0 +1,27 @@
+package com.roosvelt.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// JMH entry point that writes JSON results by default, so runs can be compared by tooling
+// (e.g. jmh.morethan.io or a diff script). Any JMH option can still be given and overrides these.
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        if (!options.contains("-rff")) {
+            Path results = Path.of("results", "jmh-results.json");
+            Files.createDirectories(results.getParent());
+            options.add("-rff");
+            options.add(results.toString());
+        }
+        org.openjdk.jmh.Main.main(options.toArray(String[]::new));
+    }
+}
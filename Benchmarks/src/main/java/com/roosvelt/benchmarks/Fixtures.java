@@ -0,0 +1,87 @@
+package com.roosvelt.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.roosvelt.Backend.entity.CustomerInfo;
+import com.roosvelt.Backend.entity.Order;
+import com.roosvelt.Backend.entity.OrderItem;
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.entity.ProductImageVariant;
+import com.roosvelt.Backend.json.CatalogJsonModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic synthetic catalogue and orders shaped like production data (same seed every run)
+final class Fixtures {
+
+    static final String[] CATEGORIES = {"Toyota", "Hyundai", "Kia", "Mercedes", "Nissan", "Honda", "Ford", "Peugeot"};
+    private static final String[] PARTS = {"Filtre à huile", "Plaquettes de frein", "Amortisseur avant", "Courroie de distribution",
+            "Bougie d'allumage", "Radiateur", "Alternateur", "Rétroviseur gauche", "Phare avant", "Batterie 70Ah"};
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private Fixtures() {
+    }
+
+    // Spring Boot's mapper: ISO dates, plus CatalogJsonModule when the app registers it
+    static ObjectMapper objectMapper(String serializers) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (serializers.equals("precompiled")) {
+            builder.modulesToInstall(new CatalogJsonModule());
+        }
+        return builder.build();
+    }
+
+    static List<Product> products(int count) {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            String part = PARTS[random.nextInt(PARTS.length)];
+            String image = "https://ik.imagekit.io/shop/" + Integer.toHexString(random.nextInt()) + ".jpg";
+            Product product = new Product(part + " " + category + " #" + i,
+                    part + " d'origine pour " + category + ", compatible modèles 2010-2024. Livraison rapide à Douala et Yaoundé.",
+                    5_000 + random.nextInt(495_000),
+                    List.of(image, image.replace(".jpg", "-2.jpg")),
+                    category,
+                    (1 + random.nextInt(24)) + " mois");
+            product.setId((long) i + 1);
+            product.setCreatedAt(CREATED_AT);
+            product.setUpdatedAt(CREATED_AT);
+            product.setImageVariants(List.of(
+                    new ProductImageVariant(image, 200, image.replace(".jpg", "_w200.jpg")),
+                    new ProductImageVariant(image, 800, image.replace(".jpg", "_w800.jpg"))));
+            products.add(product);
+        }
+        return products;
+    }
+
+    static List<Order> orders(int count, int itemsPerOrder) {
+        Random random = new Random(7);
+        List<Product> catalogue = products(200);
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setId("order_" + (1_700_000_000_000L + i));
+            order.setCreatedAt(CREATED_AT);
+            order.setCustomerInfo(new CustomerInfo("Jean", "Mbarga", "6" + (70_000_000 + i), "Rue 1.234", "Douala", "Akwa"));
+            List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+            int total = 0;
+            for (int j = 0; j < itemsPerOrder; j++) {
+                Product product = catalogue.get(random.nextInt(catalogue.size()));
+                OrderItem item = new OrderItem(product, 1 + random.nextInt(3));
+                item.setOrder(order);
+                items.add(item);
+                total += product.getPrice() * item.getQuantity();
+            }
+            order.setItems(items);
+            order.setTotal(total);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,53 @@
+package com.roosvelt.benchmarks;
+
+import com.roosvelt.Backend.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+// Order id assignment as done by Order's @PrePersist callback (protected, so reached through a method handle),
+// single-threaded and under 4 concurrent checkouts
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderIdBenchmark {
+
+    private static final MethodHandle ON_CREATE;
+
+    static {
+        try {
+            ON_CREATE = MethodHandles.privateLookupIn(Order.class, MethodHandles.lookup())
+                    .findVirtual(Order.class, "onCreate", MethodType.methodType(void.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Benchmark
+    public String generateOrderId() throws Throwable {
+        Order order = new Order();
+        ON_CREATE.invokeExact(order);
+        return order.getId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateOrderIdConcurrently() throws Throwable {
+        return generateOrderId();
+    }
+}
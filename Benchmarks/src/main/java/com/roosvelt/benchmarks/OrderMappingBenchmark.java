@@ -0,0 +1,56 @@
+package com.roosvelt.benchmarks;
+
+import com.roosvelt.Backend.dto.OrderResponse;
+import com.roosvelt.Backend.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO mapping done for every order returned by the API:
+// OrderResponse -> OrderItemResponse -> ProductOrderItemResponse (from the item snapshot)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "10"})
+    private int itemsPerOrder;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        orders = Fixtures.orders(1_000, itemsPerOrder);
+    }
+
+    @Benchmark
+    public OrderResponse mapOneOrder() {
+        return new OrderResponse(orders.get(0));
+    }
+
+    // What GET /api/orders does for 1000 orders
+    @Benchmark
+    public void mapOrderList(Blackhole blackhole) {
+        List<OrderResponse> responses = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            responses.add(new OrderResponse(order));
+        }
+        blackhole.consume(responses);
+    }
+}
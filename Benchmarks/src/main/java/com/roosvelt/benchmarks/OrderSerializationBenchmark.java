@@ -0,0 +1,59 @@
+package com.roosvelt.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.roosvelt.Backend.dto.OrderResponse;
+import com.roosvelt.Backend.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON body of GET /api/orders: 1000 OrderResponse (customer, items with their product snapshot)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderSerializationBenchmark {
+
+    @Param({"1", "10"})
+    private int itemsPerOrder;
+
+    @Param({"reflection", "precompiled"})
+    private String serializers;
+
+    private ObjectWriter writer;
+    private List<OrderResponse> responses;
+    private ProductSerializationBenchmark.CountingOutputStream sink;
+
+    @Setup
+    public void setUp() {
+        writer = Fixtures.objectMapper(serializers).writerFor(new TypeReference<List<OrderResponse>>() {});
+        responses = new ArrayList<>();
+        for (Order order : Fixtures.orders(1_000, itemsPerOrder)) {
+            responses.add(new OrderResponse(order));
+        }
+        sink = new ProductSerializationBenchmark.CountingOutputStream();
+    }
+
+    @Benchmark
+    public long serializeOrderList() throws IOException {
+        sink.count = 0;
+        writer.writeValue(sink, responses);
+        return sink.count;
+    }
+}
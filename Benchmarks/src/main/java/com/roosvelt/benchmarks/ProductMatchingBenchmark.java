@@ -0,0 +1,107 @@
+package com.roosvelt.benchmarks;
+
+import com.roosvelt.Backend.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Search and filter run in SQL in the Backend (ProductRepository); this is the same matching evaluated
+// in memory over a loaded catalogue, i.e. the cost of serving /search and /filter from a cache:
+// - search: LOWER(name) LIKE %q% OR LOWER(description) LIKE %q%
+// - filter: category, price range, optional search, then the sortBy ordering of findWithFilters
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMatchingBenchmark {
+
+    @Param({"1000", "10000"})
+    private int products;
+
+    private List<Product> catalogue;
+
+    @Setup
+    public void setUp() {
+        catalogue = Fixtures.products(products);
+    }
+
+    @Benchmark
+    public List<Product> search() {
+        return search(catalogue, "frein");
+    }
+
+    @Benchmark
+    public List<Product> filter() {
+        return filter(catalogue, "Toyota", 20_000, 200_000, "huile", "price_desc");
+    }
+
+    @Benchmark
+    public List<Product> filterCategoryOnly() {
+        return filter(catalogue, "Kia", null, null, null, "name_asc");
+    }
+
+    static List<Product> search(List<Product> products, String query) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        List<Product> matches = new ArrayList<>();
+        for (Product product : products) {
+            if (matches(product, needle)) {
+                matches.add(product);
+            }
+        }
+        matches.sort(Comparator.comparing(Product::getPrice));
+        return matches;
+    }
+
+    static List<Product> filter(List<Product> products, String category, Integer minPrice, Integer maxPrice,
+                                String search, String sortBy) {
+        String needle = search != null ? search.toLowerCase(Locale.ROOT) : null;
+        List<Product> matches = new ArrayList<>();
+        for (Product product : products) {
+            if (category != null && !category.equals(product.getCategory())) {
+                continue;
+            }
+            if (minPrice != null && product.getPrice() < minPrice) {
+                continue;
+            }
+            if (maxPrice != null && product.getPrice() > maxPrice) {
+                continue;
+            }
+            if (needle != null && !matches(product, needle)) {
+                continue;
+            }
+            matches.add(product);
+        }
+        matches.sort(comparator(sortBy));
+        return matches;
+    }
+
+    private static boolean matches(Product product, String needle) {
+        return product.getName().toLowerCase(Locale.ROOT).contains(needle)
+                || (product.getDescription() != null && product.getDescription().toLowerCase(Locale.ROOT).contains(needle));
+    }
+
+    private static Comparator<Product> comparator(String sortBy) {
+        return switch (sortBy) {
+            case "price_desc" -> Comparator.comparing(Product::getPrice).reversed();
+            case "name_asc" -> Comparator.comparing(Product::getName);
+            case "name_desc" -> Comparator.comparing(Product::getName).reversed();
+            default -> Comparator.comparing(Product::getPrice);
+        };
+    }
+}
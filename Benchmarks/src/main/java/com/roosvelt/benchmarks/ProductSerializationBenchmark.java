@@ -0,0 +1,77 @@
+package com.roosvelt.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.roosvelt.Backend.dto.ProductResponse;
+import com.roosvelt.Backend.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON body of GET /api/products, /search and /filter: ProductResponse with the whole product list.
+// The mapper is built like Spring Boot's (JavaTimeModule, ISO dates) and writes to a counting sink,
+// so only serialization is measured, not buffer growth. serializers=precompiled adds CatalogJsonModule.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int products;
+
+    @Param({"reflection", "precompiled"})
+    private String serializers;
+
+    private ObjectWriter writer;
+    private ProductResponse response;
+    private CountingOutputStream sink;
+
+    @Setup
+    public void setUp() {
+        writer = Fixtures.objectMapper(serializers).writerFor(ProductResponse.class);
+        List<Product> catalogue = Fixtures.products(products);
+        response = new ProductResponse(catalogue, catalogue.size());
+        sink = new CountingOutputStream();
+    }
+
+    @Benchmark
+    public long serializeProductResponse() throws IOException {
+        sink.count = 0;
+        writer.writeValue(sink, response);
+        return sink.count;
+    }
+
+    static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // Jackson closes the target after writeValue; keep the sink usable
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.roosvelt.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Logging cost of one catalogue request, 8 request threads, output discarded (so only the logging
+// path is measured, not the terminal):
+// - before: ProductService's INFO lines plus show-sql/format_sql statements, written synchronously
+// - after: one request event through the async appender, successes sampled at 1% (default) or all logged
+// Uses Boot's console pattern and its own LoggerContext, so the benchmark JVM's logging is untouched.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RequestLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n";
+    private static final String FORMATTED_SQL = """
+            select
+                p1_0.id,
+                p1_0.category,
+                p1_0.created_at,
+                p1_0.description,
+                p1_0.name,
+                p1_0.price,
+                p1_0.updated_at,
+                p1_0.warranty
+            from
+                products p1_0
+            order by
+                p1_0.price""";
+
+    private LoggerContext context;
+    private Logger serviceLogger;
+    private Logger sqlLogger;
+    private Logger requestLogger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+        context.setName("benchmark");
+
+        OutputStreamAppender<ILoggingEvent> syncConsole = console("SYNC_CONSOLE");
+        OutputStreamAppender<ILoggingEvent> console = console("CONSOLE");
+        AsyncAppender asyncConsole = new AsyncAppender();
+        asyncConsole.setContext(context);
+        asyncConsole.setName("ASYNC_CONSOLE");
+        asyncConsole.setQueueSize(8192);
+        asyncConsole.setNeverBlock(true);
+        asyncConsole.setIncludeCallerData(false);
+        asyncConsole.addAppender(console);
+        asyncConsole.start();
+
+        serviceLogger = logger("com.roosvelt.Backend.service.ProductService", syncConsole);
+        sqlLogger = logger("org.hibernate.SQL", syncConsole);
+        requestLogger = logger("http.requests", asyncConsole);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void before() {
+        serviceLogger.info("Starting getAllProducts method with sortBy: {}", "price_asc");
+        sqlLogger.info(FORMATTED_SQL);
+        sqlLogger.info("select i1_0.product_id,i1_0.image_url from product_images i1_0 where i1_0.product_id=?");
+        serviceLogger.info("Successfully retrieved {} products from database with sort: {}", 120, "price_asc");
+    }
+
+    @Benchmark
+    public void afterSampled() {
+        logRequest(0.01);
+    }
+
+    @Benchmark
+    public void afterEveryRequest() {
+        logRequest(1.0);
+    }
+
+    // Same decision and fields as RequestLogFilter
+    private void logRequest(double sampleRate) {
+        boolean sampled = sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled) {
+            return;
+        }
+        requestLogger.atInfo()
+                .addKeyValue("http.method", "GET")
+                .addKeyValue("http.route", "/api/products")
+                .addKeyValue("http.status", 200)
+                .addKeyValue("duration_ms", 12L)
+                .addKeyValue("sql.statements", 3)
+                .addKeyValue("sql.time_ms", 4L)
+                .addKeyValue("sampled", true)
+                .log("{} {} {} {} ms, {} SQL", "GET", "/api/products", 200, 12L, 3);
+    }
+
+    private OutputStreamAppender<ILoggingEvent> console(String name) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private Logger logger(String name, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(name);
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
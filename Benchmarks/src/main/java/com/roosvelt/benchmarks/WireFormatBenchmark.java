@@ -0,0 +1,101 @@
+package com.roosvelt.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.roosvelt.Backend.dto.ProductResponse;
+import com.roosvelt.Backend.entity.Product;
+import com.roosvelt.Backend.json.CatalogJsonModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// GET /api/products in each representation the API negotiates (Accept: application/json,
+// application/x-jackson-smile, application/cbor): server encode time, client decode time (to a tree,
+// as a generic client would) and payload size, raw and gzipped, printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"1000"})
+    private int products;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectWriter writer;
+    private ObjectMapper reader;
+    private ProductResponse response;
+    private byte[] payload;
+    private ProductSerializationBenchmark.CountingOutputStream sink;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same mapper configuration as WireFormatConfig: Boot's builder with the format's factory
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new CatalogJsonModule())
+                .factory(factory())
+                .build();
+        writer = mapper.writerFor(ProductResponse.class);
+        reader = mapper;
+        List<Product> catalogue = Fixtures.products(products);
+        response = new ProductResponse(catalogue, catalogue.size());
+        payload = writer.writeValueAsBytes(response);
+        sink = new ProductSerializationBenchmark.CountingOutputStream();
+        System.out.printf("%n%s, %d products: %d bytes, %d bytes gzipped%n", format, products, payload.length,
+                gzippedSize(payload));
+    }
+
+    @Benchmark
+    public long encode() throws IOException {
+        sink.count = 0;
+        writer.writeValue(sink, response);
+        return sink.count;
+    }
+
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        return reader.readTree(payload);
+    }
+
+    private JsonFactory factory() {
+        return switch (format) {
+            case "smile" -> SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    private static int gzippedSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -38,6 +38,25 @@ const AdminPanel: React.FC = () => {
     loadData();
   }, [activeTab]);
 
+  // Live updates: merge pushed orders instead of reloading the whole history
+  useEffect(() => {
+    if (activeTab !== 'orders') return;
+
+    const unsubscribe = orderService.subscribeToOrders(
+      (order) => {
+        setOrders(current => {
+          const exists = current.some(o => o.id === order.id);
+          return exists
+            ? current.map(o => (o.id === order.id ? order : o))
+            : [order, ...current];
+        });
+      },
+      () => { loadOrders(); }
+    );
+
+    return unsubscribe;
+  }, [activeTab]);
+
   const loadProducts = async () => {
     try {
       setLoading(true);
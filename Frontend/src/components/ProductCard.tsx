@@ -69,8 +69,12 @@ const ProductCard: React.FC<{
     if (imageError) {
       return viewMode === 'list' ? '/api/placeholder/300/200' : '/api/placeholder/300/300';
     }
-    return product.images[0];
-  }, [imageError, product.images, viewMode]);
+    // Prefer the 200px variant of the first image; cards never need the full-size original
+    const thumbnail = product.imageVariants?.find(
+      variant => variant.imageUrl === product.images[0] && variant.width === 200
+    );
+    return thumbnail ? thumbnail.url : product.images[0];
+  }, [imageError, product.images, product.imageVariants, viewMode]);
 
   if (viewMode === 'list') {
     return (
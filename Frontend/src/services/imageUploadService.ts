@@ -10,11 +10,33 @@ interface UploadResponse {
   width?: number;
 }
 
+interface BatchUploadResult extends Partial<UploadResponse> {
+  success: boolean;
+  index: number;
+  message?: string;
+}
+
+interface BatchUploadResponse {
+  success: boolean;
+  uploaded: number;
+  failed: number;
+  results: BatchUploadResult[];
+}
+
+// Files that uploaded and files that did not, in the order they were given
+export interface MultipleUploadResult {
+  uploaded: UploadResponse[];
+  failed: { fileName: string; message: string }[];
+}
+
 interface DeleteResponse {
   success: boolean;
   message: string;
 }
 
+// Files per /upload-images request, must not exceed images.upload.batch-max-files on the server
+const MAX_FILES_PER_REQUEST = 10;
+
 export const imageUploadService = {
   // Upload a single image
   uploadImage: async (file: File): Promise<UploadResponse> => {
@@ -40,17 +62,51 @@ export const imageUploadService = {
     }
   },
     
-  // Upload multiple images
-  uploadMultipleImages: async (files: File[]): Promise<UploadResponse[]> => {
-    const uploadPromises = files.map(file => imageUploadService.uploadImage(file));
-        
-    try {
-      const results = await Promise.all(uploadPromises);
-      return results;
-    } catch (error) {
-      console.error('Error uploading multiple images:', error);
-      throw new Error('Erreur lors du téléchargement des images');
+  // Upload multiple images, up to MAX_FILES_PER_REQUEST per request (the server uploads each batch in parallel).
+  // A failed file or batch does not stop the others: the caller gets both lists and decides what to keep
+  uploadMultipleImages: async (files: File[]): Promise<MultipleUploadResult> => {
+    const result: MultipleUploadResult = { uploaded: [], failed: [] };
+
+    for (const file of files) {
+      const validation = imageUploadService.validateImageFile(file);
+      if (!validation.isValid) {
+        throw new Error(validation.error);
+      }
+    }
+
+    for (let start = 0; start < files.length; start += MAX_FILES_PER_REQUEST) {
+      const batch = files.slice(start, start + MAX_FILES_PER_REQUEST);
+      const formData = new FormData();
+      batch.forEach(file => formData.append('images', file));
+
+      let response: BatchUploadResponse;
+      try {
+        response = await api.postFormData('/upload-images', formData);
+      } catch (error) {
+        console.error('Error uploading multiple images:', error);
+        batch.forEach(file => result.failed.push({
+          fileName: file.name,
+          message: 'Erreur lors du téléchargement des images'
+        }));
+        continue;
+      }
+
+      response.results.forEach(item => {
+        if (item.success) {
+          result.uploaded.push(item as UploadResponse);
+        } else {
+          result.failed.push({
+            fileName: batch[item.index]?.name ?? '',
+            message: item.message ?? 'Erreur lors du téléchargement de l\'image'
+          });
+        }
+      });
+    }
+
+    if (result.failed.length > 0) {
+      console.error('Some images failed to upload:', result.failed);
     }
+    return result;
   },
     
   // Delete an image using ImageKit fileId
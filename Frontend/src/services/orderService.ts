@@ -40,6 +40,22 @@ export const orderService = {
     return await api.get(`/orders/phone/${phone}`);
   },
 
+  // S'abonner au flux des nouvelles commandes et changements de statut (Admin)
+  // EventSource renvoie Last-Event-ID à la reconnexion ; "resync" signale un rechargement nécessaire
+  subscribeToOrders: (
+    onOrder: (order: Order) => void,
+    onResync: () => void
+  ): (() => void) => {
+    const source = new EventSource(`${import.meta.env.VITE_API_URL}/orders/stream`);
+    const handleOrder = (event: MessageEvent) => onOrder(JSON.parse(event.data));
+
+    source.addEventListener('created', handleOrder);
+    source.addEventListener('status_changed', handleOrder);
+    source.addEventListener('resync', () => onResync());
+
+    return () => source.close();
+  },
+
   // Supprimer une commande (Admin)
   deleteOrder: async (id: string): Promise<void> => {
     return await api.delete(`/orders/${id}`);
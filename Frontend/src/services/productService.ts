@@ -19,6 +19,16 @@ interface CreateProductWithFiles {
   imageFiles: File[];
 }
 
+// Uploads the product's images; if any fails, releases the ones that did so they are not left orphaned
+const uploadProductImages = async (files: File[]): Promise<string[]> => {
+  const { uploaded, failed } = await imageUploadService.uploadMultipleImages(files);
+  if (failed.length > 0) {
+    await Promise.allSettled(uploaded.map(img => imageUploadService.deleteImage(img.fileId)));
+    throw new Error(`Erreur lors du téléchargement de ${failed.length} image(s) : ${failed[0].fileName} - ${failed[0].message}`);
+  }
+  return uploaded.map(img => img.imagePath);
+};
+
 export const productService = {
   // Récupérer tous les produits avec tri
   getAllProducts: async (sortBy: string = 'price_asc'): Promise<ProductResponse> => {
@@ -77,10 +87,7 @@ export const productService = {
   createProductWithImages: async (productData: CreateProductWithFiles): Promise<Product> => {
     try {
       // First, upload all images
-      const uploadedImages = await imageUploadService.uploadMultipleImages(productData.imageFiles);
-      
-      // Extract image paths
-      const imagePaths = uploadedImages.map(img => img.imagePath);
+      const imagePaths = await uploadProductImages(productData.imageFiles);
       
       // Create product with uploaded image paths
       const product = {
@@ -115,8 +122,7 @@ export const productService = {
       
       // Upload new images if provided
       if (productData.imageFiles && productData.imageFiles.length > 0) {
-        const uploadedImages = await imageUploadService.uploadMultipleImages(productData.imageFiles);
-        const newImagePaths = uploadedImages.map(img => img.imagePath);
+        const newImagePaths = await uploadProductImages(productData.imageFiles);
         imagePaths = [...imagePaths, ...newImagePaths];
       }
       
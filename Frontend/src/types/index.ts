@@ -4,10 +4,17 @@ export interface Product {
   description: string;
   price: number;
   images: string[];
+  imageVariants?: ImageVariant[];
   category: string;
   warranty: string;
 }
 
+export interface ImageVariant {
+  imageUrl: string;
+  width: number;
+  url: string;
+}
+
 export interface CartItem {
   product: Product;
   quantity: number;
@@ -0,0 +1,93 @@
+package com.roosvelt.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// The Backend jar running in a child JVM, output sent to results/backend-<name>.log
+final class BackendProcess implements AutoCloseable {
+
+    private final Process process;
+    private final String baseUrl;
+
+    private BackendProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static BackendProcess start(String jar, int port, List<String> jvmArgs, Map<String, String> environment,
+                                String name, Duration startupTimeout) throws IOException, InterruptedException {
+        BackendProcess backend = launch(jar, null, port, jvmArgs, environment, name);
+        try {
+            backend.waitUntilReady("/health", startupTimeout, Duration.ofMillis(500));
+        } catch (RuntimeException | InterruptedException e) {
+            backend.close();
+            throw e;
+        }
+        return backend;
+    }
+
+    // Starts the JVM without waiting; the jar is resolved against workingDirectory when one is given
+    static BackendProcess launch(String jar, Path workingDirectory, int port, List<String> jvmArgs,
+                                 Map<String, String> environment, String name) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar);
+        command.add("--server.port=" + port);
+        command.add("--spring.jpa.show-sql=false");
+        // Every simulated client comes from this one address: keep the concurrency limit, not the per-client rate
+        command.add("--admission.client.enabled=false");
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        if (workingDirectory != null) {
+            builder.directory(workingDirectory.toFile());
+        }
+        builder.environment().remove("SPRING_PROFILES_ACTIVE");
+        builder.environment().putAll(environment);
+        Path log = Path.of("results", "backend-" + name + ".log").toAbsolutePath();
+        Files.createDirectories(log.getParent());
+        builder.redirectErrorStream(true).redirectOutput(log.toFile());
+        System.err.println("Starting backend " + name + " (log: " + log + ")");
+        return new BackendProcess(builder.start(), "http://localhost:" + port);
+    }
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    // Polls path until it answers 200
+    void waitUntilReady(String path, Duration timeout, Duration pollInterval) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with code " + process.exitValue() + ", see its log");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(pollInterval);
+        }
+        throw new IllegalStateException("Backend did not answer " + path + " within " + timeout);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        process.waitFor();
+    }
+}
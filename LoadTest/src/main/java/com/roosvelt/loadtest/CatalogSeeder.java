@@ -0,0 +1,161 @@
+package com.roosvelt.loadtest;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Fills a fresh Backend through its own API: a few generated images go through /api/upload-image
+// (stored by the local image storage), then the catalogue is created with POST /api/products
+final class CatalogSeeder {
+
+    // Category ids inserted by data.sql
+    static final String[] CATEGORIES = {"moteur", "freinage", "suspension", "transmission", "electricite", "eclairage",
+            "carrosserie", "pneumatiques"};
+    static final String[] PARTS = {"Filtre", "Plaquettes", "Amortisseur", "Courroie", "Bougie", "Radiateur", "Alternateur",
+            "Rétroviseur", "Phare", "Batterie", "Disque", "Embrayage"};
+    private static final String[] BRANDS = {"Toyota", "Hyundai", "Kia", "Mercedes", "Nissan", "Honda"};
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern IMAGE_PATH = Pattern.compile("\"imagePath\"\\s*:\\s*\"([^\"]+)\"");
+
+    record SeededProduct(long id, int price, String category, String name) {
+    }
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Random random = new Random(42);
+
+    CatalogSeeder(HttpClient httpClient, String baseUrl) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+    }
+
+    List<SeededProduct> seed(int catalogSize, int imageCount, int concurrency) throws Exception {
+        List<String> images = new ArrayList<>();
+        for (int i = 0; i < imageCount; i++) {
+            images.add(uploadImage(i));
+        }
+
+        List<String> bodies = new ArrayList<>(catalogSize);
+        List<Integer> prices = new ArrayList<>(catalogSize);
+        List<String> categories = new ArrayList<>(catalogSize);
+        List<String> names = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            String name = PARTS[random.nextInt(PARTS.length)] + " " + BRANDS[random.nextInt(BRANDS.length)] + " " + i;
+            int price = 5_000 + random.nextInt(295_000);
+            String image = images.get(random.nextInt(images.size()));
+            bodies.add("{\"name\":\"" + name + "\",\"description\":\"" + name + " d'origine, livraison rapide\","
+                    + "\"price\":" + price + ",\"category\":\"" + category + "\",\"warranty\":\"12 mois\","
+                    + "\"images\":[\"" + image + "\"]}");
+            prices.add(price);
+            categories.add(category);
+            names.add(name);
+        }
+
+        List<SeededProduct> products = Collections.synchronizedList(new ArrayList<>(catalogSize));
+        Semaphore permits = new Semaphore(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < catalogSize; i++) {
+                int index = i;
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        long id = createProduct(bodies.get(index));
+                        products.add(new SeededProduct(id, prices.get(index), categories.get(index), names.get(index)));
+                    } catch (Exception e) {
+                        System.err.println("Seeding product " + index + " failed: " + e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        if (products.isEmpty()) {
+            throw new IllegalStateException("No product could be created, see the backend log");
+        }
+        System.err.println("Seeded " + products.size() + " products and " + images.size() + " images");
+        return products;
+    }
+
+    private long createProduct(String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = send(request);
+        if (response.statusCode() >= 300) {
+            throw new IOException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return Long.parseLong(extract(ID, response.body()));
+    }
+
+    // Plain colour per image so content deduplication keeps them apart
+    private String uploadImage(int index) throws IOException, InterruptedException {
+        BufferedImage image = new BufferedImage(1200, 900, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(Color.HSBtoRGB(index / 16f, 0.6f, 0.9f)));
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.dispose();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+
+        String boundary = "loadtest-" + System.nanoTime();
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"image\"; filename=\"seed-" + index + ".png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/upload-image"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofByteArray(head),
+                        HttpRequest.BodyPublishers.ofByteArray(png.toByteArray()),
+                        HttpRequest.BodyPublishers.ofByteArray(tail)))
+                .build();
+        HttpResponse<String> response = send(request);
+        if (response.statusCode() >= 300) {
+            throw new IOException("Image upload failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return extract(IMAGE_PATH, response.body());
+    }
+
+    // Seeding is back-office traffic, which admission control sheds first: wait as told by Retry-After
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if ((status != 429 && status != 503) || attempt == 10) {
+                return response;
+            }
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+            Thread.sleep(Duration.ofSeconds(retryAfter));
+        }
+    }
+
+    static String extract(Pattern pattern, String body) throws IOException {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IOException("Unexpected response: " + body);
+        }
+        return matcher.group(1);
+    }
+}
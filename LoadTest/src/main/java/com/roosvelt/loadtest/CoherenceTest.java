@@ -0,0 +1,216 @@
+package com.roosvelt.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+// Cross-instance cache coherence: one PostgreSQL, two Backends (a and b) with their caches warmed up.
+// Every round renames a product and a category through a, then measures how long b keeps serving the old
+// name (by id, in /search and in the category list). The "missed" rounds first kill the listener connections
+// (pg_terminate_backend), so the notification is lost and b only recovers through its reconnect resync.
+//
+//   cd Backend && mvn -DskipTests package
+//   cd LoadTest && mvn package
+//   java -jar target/loadtest.jar coherence --jar ../Backend/target/Backend-0.0.1-SNAPSHOT.jar --rounds 50
+//
+// Add --datasource-url/--datasource-user/--datasource-password to use an existing PostgreSQL
+// (required when running as root).
+public class CoherenceTest {
+
+    // InvalidationListener.APPLICATION_NAME
+    private static final String LISTENER_APPLICATION_NAME = "cache-invalidation-listener";
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        Path imageDirectory = Files.createTempDirectory("loadtest-images");
+        try (LocalPostgres postgres = LocalPostgres.start(options.datasourceUrl, options.datasourceUser,
+                options.datasourcePassword, 100)) {
+            Map<String, String> environment = new HashMap<>();
+            environment.put("DATASOURCE_URL", postgres.jdbcUrl());
+            environment.put("DATASOURCE_USER", postgres.username());
+            environment.put("DATASOURCE_PASSWORD", postgres.password());
+            environment.put("FRONTEND_URL", "http://localhost:5173");
+            environment.put("IMAGE_STORAGE_TYPE", "local");
+            environment.put("IMAGE_STORAGE_DIRECTORY", imageDirectory.toString());
+            environment.put("IMAGES_GC_ENABLED", "false");
+            // One after the other: the first one creates the schema
+            try (BackendProcess a = BackendProcess.start(options.jar, options.port, options.jvmArgs, environment,
+                    "coherence-a", options.startupTimeout);
+                 BackendProcess b = BackendProcess.start(options.jar, options.port + 1, options.jvmArgs, environment,
+                         "coherence-b", options.startupTimeout)) {
+                run(httpClient, a.baseUrl(), b.baseUrl(), postgres, options);
+            }
+        }
+    }
+
+    private static void run(HttpClient httpClient, String a, String b, LocalPostgres postgres, Options options)
+            throws Exception {
+        List<CatalogSeeder.SeededProduct> catalog = new CatalogSeeder(httpClient, a).seed(options.catalogSize, 2, 8);
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (String step : List.of("product", "search", "category", "missed")) {
+            recorders.put(step, new LatencyRecorder());
+        }
+
+        long start = System.nanoTime();
+        for (int round = 0; round < options.rounds + options.missedRounds; round++) {
+            boolean missed = round >= options.rounds;
+            CatalogSeeder.SeededProduct product = catalog.get(round % catalog.size());
+            String category = CatalogSeeder.CATEGORIES[round % CatalogSeeder.CATEGORIES.length];
+            String marker = "coherence" + round;
+
+            // b caches the current product, an (empty) search for the marker and the category list
+            get(httpClient, b + "/api/products/" + product.id());
+            get(httpClient, b + "/api/products/search?q=" + marker);
+            get(httpClient, b + "/api/categories");
+
+            if (missed) {
+                int killed = killListeners(postgres);
+                if (killed < 2) {
+                    System.err.println("Round " + round + ": only " + killed + " listener connection(s) found");
+                }
+            }
+            send(httpClient, HttpRequest.newBuilder(URI.create(a + "/api/products/" + product.id()))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"" + product.name() + " " + marker + "\","
+                            + "\"description\":\"" + product.name() + " d'origine\",\"price\":" + product.price()
+                            + ",\"category\":\"" + product.category() + "\"}")));
+            send(httpClient, HttpRequest.newBuilder(URI.create(a + "/api/categories/" + category))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"" + category + " " + marker + "\"}")));
+            long written = System.nanoTime();
+
+            if (missed) {
+                await(recorders.get("missed"), written, options.timeout, () ->
+                        get(httpClient, b + "/api/products/" + product.id()).contains(marker)
+                                && get(httpClient, b + "/api/categories").contains(marker));
+            } else {
+                await(recorders.get("product"), written, options.timeout, () ->
+                        get(httpClient, b + "/api/products/" + product.id()).contains(marker));
+                await(recorders.get("search"), written, options.timeout, () ->
+                        get(httpClient, b + "/api/products/search?q=" + marker).contains("\"id\":" + product.id()));
+                await(recorders.get("category"), written, options.timeout, () ->
+                        get(httpClient, b + "/api/categories").contains(marker));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<String> rows = new ArrayList<>();
+        rows.add("step," + LatencyStats.CSV_COLUMNS);
+        recorders.forEach((step, recorder) -> rows.add(step + "," + LatencyRecorder.merge(List.of(recorder), elapsed).toCsv()));
+        System.out.println("Time until instance b serves a write made on instance a (errors: not within "
+                + options.timeout.toMillis() + " ms)");
+        rows.forEach(System.out::println);
+
+        Path out = Path.of(options.out);
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.write(out, rows);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    // Polls until the condition holds; the sample is the time since the write was acknowledged
+    private static void await(LatencyRecorder recorder, long since, Duration timeout, Check check) throws Exception {
+        long deadline = since + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (check.holds()) {
+                recorder.record(System.nanoTime() - since);
+                return;
+            }
+            Thread.sleep(5);
+        }
+        recorder.recordError();
+    }
+
+    private static int killListeners(LocalPostgres postgres) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(postgres.jdbcUrl(), postgres.username(),
+                postgres.password());
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(pg_terminate_backend(pid)) FROM pg_stat_activity "
+                     + "WHERE application_name = '" + LISTENER_APPLICATION_NAME + "'")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static String get(HttpClient httpClient, String url) throws IOException, InterruptedException {
+        return send(httpClient, HttpRequest.newBuilder(URI.create(url)).GET());
+    }
+
+    private static String send(HttpClient httpClient, HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request.timeout(Duration.ofSeconds(10)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IOException("HTTP " + response.statusCode() + " from " + response.uri() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    @FunctionalInterface
+    private interface Check {
+        boolean holds() throws Exception;
+    }
+
+    static final class Options {
+        String jar;
+        String datasourceUrl;
+        String datasourceUser = "postgres";
+        String datasourcePassword = "postgres";
+        int port = 18080;
+        int catalogSize = 20;
+        int rounds = 50;
+        int missedRounds = 5;
+        Duration timeout = Duration.ofSeconds(10);
+        Duration startupTimeout = Duration.ofSeconds(180);
+        List<String> jvmArgs = List.of("-Xmx512m");
+        String out = "results/coherence.csv";
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--jar" -> options.jar = value;
+                    case "--datasource-url" -> options.datasourceUrl = value;
+                    case "--datasource-user" -> options.datasourceUser = value;
+                    case "--datasource-password" -> options.datasourcePassword = value;
+                    case "--port" -> options.port = Integer.parseInt(value);
+                    case "--catalog-size" -> options.catalogSize = Integer.parseInt(value);
+                    case "--rounds" -> options.rounds = Integer.parseInt(value);
+                    case "--missed-rounds" -> options.missedRounds = Integer.parseInt(value);
+                    case "--timeout-ms" -> options.timeout = Duration.ofMillis(Long.parseLong(value));
+                    case "--jvm-args" -> options.jvmArgs = List.of(value.split(" "));
+                    case "--out" -> options.out = value;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+                i++;
+            }
+            if (options.jar == null) {
+                throw new IllegalArgumentException("--jar <Backend jar> is required");
+            }
+            return options;
+        }
+    }
+}
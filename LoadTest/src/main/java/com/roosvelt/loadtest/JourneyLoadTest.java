@@ -0,0 +1,167 @@
+package com.roosvelt.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// End-to-end load test: boots PostgreSQL and the Backend locally (images on the local disk storage,
+// so nothing external is called), seeds a catalogue, then runs N concurrent shoppers for a fixed duration
+// and reports throughput, error rate and latency percentiles per journey step.
+//
+//   cd Backend && mvn -DskipTests package
+//   cd LoadTest && mvn package
+//   java -jar target/loadtest.jar journeys --jar ../Backend/target/Backend-0.0.1-SNAPSHOT.jar \
+//        --users 500 --catalog-size 5000 --duration 120 --think-time-ms 500
+//
+// Add --datasource-url/--datasource-user/--datasource-password to use an existing PostgreSQL
+// (required when running as root), --profile virtual to boot the Backend on virtual threads,
+// or --url to target a Backend that is already running (the catalogue is seeded into it as well).
+public class JourneyLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        if (options.url != null) {
+            run(httpClient, options.url, options);
+            return;
+        }
+        Path imageDirectory = Files.createTempDirectory("loadtest-images");
+        try (LocalPostgres postgres = LocalPostgres.start(options.datasourceUrl, options.datasourceUser,
+                options.datasourcePassword, 300)) {
+            Map<String, String> environment = new HashMap<>();
+            environment.put("DATASOURCE_URL", postgres.jdbcUrl());
+            environment.put("DATASOURCE_USER", postgres.username());
+            environment.put("DATASOURCE_PASSWORD", postgres.password());
+            environment.put("FRONTEND_URL", "http://localhost:5173");
+            environment.put("IMAGE_STORAGE_TYPE", "local");
+            environment.put("IMAGE_STORAGE_DIRECTORY", imageDirectory.toString());
+            environment.put("IMAGES_GC_ENABLED", "false");
+            if (options.profile != null) {
+                environment.put("SPRING_PROFILES_ACTIVE", options.profile);
+            }
+            try (BackendProcess backend = BackendProcess.start(options.jar, options.port, options.jvmArgs, environment,
+                    "journeys", options.startupTimeout)) {
+                run(httpClient, backend.baseUrl(), options);
+            }
+        }
+    }
+
+    private static void run(HttpClient httpClient, String baseUrl, Options options) throws Exception {
+        List<CatalogSeeder.SeededProduct> catalog = new CatalogSeeder(httpClient, baseUrl)
+                .seed(options.catalogSize, options.imageCount, 32);
+
+        if (!options.warmup.isZero()) {
+            System.err.println("Warming up for " + options.warmup.toSeconds() + " s");
+            runShoppers(httpClient, baseUrl, catalog, options, options.warmup);
+        }
+        System.err.println("Running " + options.users + " shoppers for " + options.duration.toSeconds() + " s");
+        Map<ShopperJourney.Step, LatencyStats> results = runShoppers(httpClient, baseUrl, catalog, options, options.duration);
+
+        List<String> rows = new ArrayList<>();
+        rows.add("step," + LatencyStats.CSV_COLUMNS);
+        results.forEach((step, stats) -> rows.add(step.name().toLowerCase() + "," + stats.toCsv()));
+        rows.forEach(System.out::println);
+
+        Path out = Path.of(options.out);
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.write(out, rows);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private static Map<ShopperJourney.Step, LatencyStats> runShoppers(HttpClient httpClient, String baseUrl,
+                                                                     List<CatalogSeeder.SeededProduct> catalog,
+                                                                     Options options, Duration duration)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<ShopperJourney> shoppers = new ArrayList<>(options.users);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.users; i++) {
+                ShopperJourney shopper = new ShopperJourney(httpClient, baseUrl, catalog, options.thinkTime, i);
+                shoppers.add(shopper);
+                executor.execute(() -> {
+                    try {
+                        shopper.run(running::get);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            Thread.sleep(duration);
+            running.set(false);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<ShopperJourney.Step, LatencyStats> results = new EnumMap<>(ShopperJourney.Step.class);
+        for (ShopperJourney.Step step : ShopperJourney.Step.values()) {
+            List<LatencyRecorder> recorders = shoppers.stream().map(shopper -> shopper.recorders().get(step)).toList();
+            results.put(step, LatencyRecorder.merge(recorders, elapsed));
+        }
+        return results;
+    }
+
+    static final class Options {
+        String jar;
+        String url;
+        String profile;
+        String datasourceUrl;
+        String datasourceUser = "postgres";
+        String datasourcePassword = "postgres";
+        int port = 18080;
+        int users = 200;
+        int catalogSize = 1000;
+        int imageCount = 8;
+        Duration thinkTime = Duration.ZERO;
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(15);
+        Duration startupTimeout = Duration.ofSeconds(180);
+        List<String> jvmArgs = List.of("-Xmx1g");
+        String out = "results/journeys.csv";
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--jar" -> options.jar = value;
+                    case "--url" -> options.url = value;
+                    case "--profile" -> options.profile = value;
+                    case "--datasource-url" -> options.datasourceUrl = value;
+                    case "--datasource-user" -> options.datasourceUser = value;
+                    case "--datasource-password" -> options.datasourcePassword = value;
+                    case "--port" -> options.port = Integer.parseInt(value);
+                    case "--users" -> options.users = Integer.parseInt(value);
+                    case "--catalog-size" -> options.catalogSize = Integer.parseInt(value);
+                    case "--images" -> options.imageCount = Integer.parseInt(value);
+                    case "--think-time-ms" -> options.thinkTime = Duration.ofMillis(Long.parseLong(value));
+                    case "--duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                    case "--warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                    case "--jvm-args" -> options.jvmArgs = List.of(value.split(" "));
+                    case "--out" -> options.out = value;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+                i++;
+            }
+            if (options.jar == null && options.url == null) {
+                throw new IllegalArgumentException("Either --jar <Backend jar> or --url <running server> is required");
+            }
+            return options;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.roosvelt.loadtest;
+
+import java.util.Arrays;
+
+// Latency buffer owned by one client thread, so no synchronization; merged once the run is over
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+    private long shed;
+
+    void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    // 503 is what admission control answers when it sheds load: counted apart from real errors
+    void recordStatus(int statusCode) {
+        if (statusCode == 503) {
+            shed++;
+        } else if (statusCode >= 400) {
+            errors++;
+        }
+    }
+
+    static LatencyStats merge(Iterable<LatencyRecorder> recorders, long elapsedNanos) {
+        int total = 0;
+        long errors = 0;
+        long shed = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.count;
+            errors += recorder.errors;
+            shed += recorder.shed;
+        }
+        long[] all = new long[total];
+        int position = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, all, position, recorder.count);
+            position += recorder.count;
+        }
+        Arrays.sort(all);
+        return new LatencyStats(all, errors, shed, elapsedNanos);
+    }
+}
@@ -0,0 +1,47 @@
+package com.roosvelt.loadtest;
+
+import java.util.Locale;
+
+// Percentiles over every sample of a run (exact, samples are sorted), plus throughput, error rate and shed requests
+final class LatencyStats {
+
+    static final String CSV_COLUMNS = "requests,errors,error_rate,shed,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms";
+
+    private final long[] sorted;
+    private final long errors;
+    private final long shed;
+    private final long elapsedNanos;
+
+    LatencyStats(long[] sorted, long errors, long shed, long elapsedNanos) {
+        this.sorted = sorted;
+        this.errors = errors;
+        this.shed = shed;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    long requests() {
+        return sorted.length;
+    }
+
+    double throughput() {
+        return sorted.length / (elapsedNanos / 1e9);
+    }
+
+    double errorRate() {
+        return sorted.length == 0 ? 0 : (double) errors / sorted.length;
+    }
+
+    double percentileMillis(double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    String toCsv() {
+        return String.format(Locale.ROOT, "%d,%d,%.4f,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+                requests(), errors, errorRate(), shed, throughput(), percentileMillis(0.50), percentileMillis(0.90),
+                percentileMillis(0.99), percentileMillis(1.0));
+    }
+}
@@ -0,0 +1,28 @@
+package com.roosvelt.loadtest;
+
+import java.util.Arrays;
+
+// java -jar target/loadtest.jar throughput --jar ../Backend/target/Backend-0.0.1-SNAPSHOT.jar
+// java -jar target/loadtest.jar journeys --jar ../Backend/target/Backend-0.0.1-SNAPSHOT.jar --users 500
+// java -jar target/loadtest.jar startup --jar ../Backend/target/Backend-0.0.1-SNAPSHOT.jar --aot-dir ../Backend/target/fast-startup
+// java -jar target/loadtest.jar coherence --jar ../Backend/target/Backend-0.0.1-SNAPSHOT.jar --rounds 50
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: loadtest.jar <throughput|journeys|startup|coherence> [options]");
+            System.exit(2);
+        }
+        String[] options = Arrays.copyOfRange(args, 1, args.length);
+        switch (args[0]) {
+            case "throughput" -> ThroughputBenchmark.main(options);
+            case "journeys" -> JourneyLoadTest.main(options);
+            case "startup" -> StartupBenchmark.main(options);
+            case "coherence" -> CoherenceTest.main(options);
+            default -> {
+                System.err.println("Unknown command " + args[0] + ", expected throughput, journeys, startup or coherence");
+                System.exit(2);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.roosvelt.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+
+// The Backend's database for a load test: an embedded PostgreSQL (real server binaries, random port,
+// thrown away afterwards) unless --datasource-url points at one that is already running.
+// The embedded server refuses to run as root, like any PostgreSQL.
+final class LocalPostgres implements AutoCloseable {
+
+    private final EmbeddedPostgres embedded;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+
+    private LocalPostgres(EmbeddedPostgres embedded, String jdbcUrl, String username, String password) {
+        this.embedded = embedded;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    static LocalPostgres start(String externalUrl, String username, String password, int maxConnections) throws IOException {
+        if (externalUrl != null) {
+            return new LocalPostgres(null, externalUrl, username, password);
+        }
+        EmbeddedPostgres embedded = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", String.valueOf(maxConnections))
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .start();
+        System.err.println("Embedded PostgreSQL listening on port " + embedded.getPort());
+        return new LocalPostgres(embedded, embedded.getJdbcUrl("postgres", "postgres"), "postgres", "postgres");
+    }
+
+    String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    String username() {
+        return username;
+    }
+
+    String password() {
+        return password;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
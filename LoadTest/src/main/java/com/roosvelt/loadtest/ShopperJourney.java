@@ -0,0 +1,167 @@
+package com.roosvelt.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+
+// One simulated shopper, run in a loop on its own virtual thread: browse the catalogue, narrow it down,
+// open a product, check out, then poll the order the way the confirmation page does.
+final class ShopperJourney {
+
+    enum Step {
+        LIST_CATALOG, FILTER, SEARCH, VIEW_PRODUCT, CREATE_ORDER, POLL_ORDER
+    }
+
+    private static final Pattern ORDER_ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String[] SORTS = {"price_asc", "price_desc", "name_asc", "name_desc"};
+    private static final int POLL_ATTEMPTS = 5;
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final List<CatalogSeeder.SeededProduct> catalog;
+    private final Duration thinkTime;
+    private final Random random;
+    private final Map<Step, LatencyRecorder> recorders = new EnumMap<>(Step.class);
+
+    ShopperJourney(HttpClient httpClient, String baseUrl, List<CatalogSeeder.SeededProduct> catalog,
+                   Duration thinkTime, long seed) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.catalog = catalog;
+        this.thinkTime = thinkTime;
+        this.random = new Random(seed);
+        for (Step step : Step.values()) {
+            recorders.put(step, new LatencyRecorder());
+        }
+    }
+
+    Map<Step, LatencyRecorder> recorders() {
+        return recorders;
+    }
+
+    void run(BooleanSupplier running) throws InterruptedException {
+        while (running.getAsBoolean()) {
+            runOnce();
+        }
+    }
+
+    private void runOnce() throws InterruptedException {
+        String sort = SORTS[random.nextInt(SORTS.length)];
+        get(Step.LIST_CATALOG, "/api/products?sortBy=" + sort);
+        pause();
+
+        String category = CatalogSeeder.CATEGORIES[random.nextInt(CatalogSeeder.CATEGORIES.length)];
+        int minPrice = 5_000 + random.nextInt(100_000);
+        get(Step.FILTER, "/api/products/filter?category=" + category + "&minPrice=" + minPrice
+                + "&maxPrice=" + (minPrice + 100_000) + "&sortBy=" + sort);
+        pause();
+
+        String term = CatalogSeeder.PARTS[random.nextInt(CatalogSeeder.PARTS.length)].toLowerCase();
+        get(Step.SEARCH, "/api/products/search?q=" + URLEncoder.encode(term, StandardCharsets.UTF_8));
+        pause();
+
+        CatalogSeeder.SeededProduct product = catalog.get(random.nextInt(catalog.size()));
+        get(Step.VIEW_PRODUCT, "/api/products/" + product.id());
+        pause();
+
+        String orderId = createOrder(product);
+        if (orderId == null) {
+            return;
+        }
+        pause();
+        pollOrder(orderId);
+        pause();
+    }
+
+    private String createOrder(CatalogSeeder.SeededProduct product) throws InterruptedException {
+        int quantity = 1 + random.nextInt(3);
+        String phone = "6" + (70_000_000 + random.nextInt(29_999_999));
+        String body = "{\"customerInfo\":{\"firstName\":\"Jean\",\"lastName\":\"Mbarga\",\"phone\":\"" + phone + "\","
+                + "\"address\":\"Rue 1.234\",\"city\":\"Douala\",\"quarter\":\"Akwa\"},"
+                + "\"items\":[{\"product\":{\"id\":" + product.id() + "},\"quantity\":" + quantity + "}],"
+                + "\"total\":" + (product.price() * quantity) + "}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = send(Step.CREATE_ORDER, request, HttpResponse.BodyHandlers.ofString());
+        if (response == null || response.statusCode() >= 300) {
+            return null;
+        }
+        try {
+            return CatalogSeeder.extract(ORDER_ID, response.body());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Counted as one step from the first request until the order is visible (read replicas may lag)
+    private void pollOrder(String orderId) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders/" + orderId))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        LatencyRecorder recorder = recorders.get(Step.POLL_ORDER);
+        long start = System.nanoTime();
+        for (int attempt = 0; attempt < POLL_ATTEMPTS; attempt++) {
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200) {
+                    recorder.record(System.nanoTime() - start);
+                    return;
+                }
+                if (status != 404) {
+                    break;
+                }
+            } catch (IOException e) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        recorder.record(System.nanoTime() - start);
+        recorder.recordError();
+    }
+
+    private void get(Step step, String path) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        send(step, request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    // Records latency and outcome; returns null when the request did not complete
+    private <T> HttpResponse<T> send(Step step, HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws InterruptedException {
+        LatencyRecorder recorder = recorders.get(step);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<T> response = httpClient.send(request, handler);
+            recorder.record(System.nanoTime() - start);
+            recorder.recordStatus(response.statusCode());
+            return response;
+        } catch (IOException e) {
+            recorder.record(System.nanoTime() - start);
+            recorder.recordError();
+            return null;
+        }
+    }
+
+    private void pause() throws InterruptedException {
+        if (!thinkTime.isZero()) {
+            // +/- 50% so shoppers don't move in lockstep
+            long millis = thinkTime.toMillis();
+            Thread.sleep(millis / 2 + (long) (random.nextDouble() * millis));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.roosvelt.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Time from launching the JVM to the first successful GET /api/products (not just /health), per startup mode:
+// - default: the plain jar, default profile (Hibernate diffs the schema, data.sql is replayed)
+// - fast-startup: the plain jar with the fast-startup profile, to separate the schema skip from AOT/CDS
+// - aot-cds: the output of mvn -Pfast-startup package, AOT code enabled and the CDS archive mapped
+// The default mode runs first so the schema exists for the others. Each mode is started --runs times.
+//
+//   cd Backend && mvn -Pfast-startup -DskipTests package
+//   cd LoadTest && mvn package
+//   java -jar target/loadtest.jar startup --jar ../Backend/target/Backend-0.0.1-SNAPSHOT.jar \
+//        --aot-dir ../Backend/target/fast-startup --runs 5
+public class StartupBenchmark {
+
+    private static final String CSV_HEADER = "mode,runs,min_ms,median_ms,max_ms";
+    private static final String FIRST_REQUEST = "/api/products";
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        List<String> rows = new ArrayList<>();
+        rows.add(CSV_HEADER);
+
+        try (LocalPostgres postgres = LocalPostgres.start(options.datasourceUrl, options.datasourceUser,
+                options.datasourcePassword, 100)) {
+            Map<String, String> environment = new HashMap<>();
+            environment.put("DATASOURCE_URL", postgres.jdbcUrl());
+            environment.put("DATASOURCE_USER", postgres.username());
+            environment.put("DATASOURCE_PASSWORD", postgres.password());
+            environment.put("FRONTEND_URL", "http://localhost:5173");
+
+            rows.add(measure("default", Path.of(options.jar).toAbsolutePath().toString(), null, List.of(),
+                    environment, options));
+
+            Map<String, String> fastStartup = new HashMap<>(environment);
+            fastStartup.put("SPRING_PROFILES_ACTIVE", "fast-startup");
+            rows.add(measure("fast-startup", Path.of(options.jar).toAbsolutePath().toString(), null, List.of(),
+                    fastStartup, options));
+
+            if (options.aotDir != null) {
+                Path aotDir = Path.of(options.aotDir).toAbsolutePath();
+                String jar = Path.of(options.jar).getFileName().toString();
+                if (!Files.exists(aotDir.resolve("application.jsa"))) {
+                    throw new IllegalArgumentException(aotDir + " has no application.jsa, build with mvn -Pfast-startup package");
+                }
+                rows.add(measure("aot-cds", jar, aotDir,
+                        List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true"),
+                        fastStartup, options));
+            }
+        }
+
+        rows.forEach(System.out::println);
+        Path out = Path.of(options.out);
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.write(out, rows);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private static String measure(String mode, String jar, Path workingDirectory, List<String> modeJvmArgs,
+                                  Map<String, String> environment, Options options) throws Exception {
+        List<String> jvmArgs = new ArrayList<>(options.jvmArgs);
+        jvmArgs.addAll(modeJvmArgs);
+        List<Long> millis = new ArrayList<>();
+        for (int run = 1; run <= options.runs; run++) {
+            long start = System.nanoTime();
+            try (BackendProcess backend = BackendProcess.launch(jar, workingDirectory, options.port, jvmArgs,
+                    environment, "startup-" + mode)) {
+                backend.waitUntilReady(FIRST_REQUEST, options.timeout, Duration.ofMillis(20));
+                millis.add((System.nanoTime() - start) / 1_000_000);
+            }
+            System.err.println(mode + " run " + run + ": " + millis.get(millis.size() - 1) + " ms");
+        }
+        millis.sort(null);
+        return mode + "," + millis.size() + "," + millis.get(0) + "," + millis.get(millis.size() / 2) + ","
+                + millis.get(millis.size() - 1);
+    }
+
+    static final class Options {
+        String jar;
+        String aotDir;
+        String datasourceUrl;
+        String datasourceUser = "postgres";
+        String datasourcePassword = "postgres";
+        int port = 18080;
+        int runs = 5;
+        Duration timeout = Duration.ofSeconds(180);
+        List<String> jvmArgs = List.of("-Xmx512m");
+        String out = "results/startup.csv";
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--jar" -> options.jar = value;
+                    case "--aot-dir" -> options.aotDir = value;
+                    case "--datasource-url" -> options.datasourceUrl = value;
+                    case "--datasource-user" -> options.datasourceUser = value;
+                    case "--datasource-password" -> options.datasourcePassword = value;
+                    case "--port" -> options.port = Integer.parseInt(value);
+                    case "--runs" -> options.runs = Integer.parseInt(value);
+                    case "--timeout" -> options.timeout = Duration.ofSeconds(Long.parseLong(value));
+                    case "--jvm-args" -> options.jvmArgs = List.of(value.split(" "));
+                    case "--out" -> options.out = value;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+                i++;
+            }
+            if (options.jar == null) {
+                throw new IllegalArgumentException("--jar <Backend jar> is required");
+            }
+            return options;
+        }
+    }
+}
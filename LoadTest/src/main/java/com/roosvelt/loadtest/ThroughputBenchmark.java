@@ -0,0 +1,165 @@
+package com.roosvelt.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Compares the Backend running on platform threads (Tomcat pool) and on virtual threads (SPRING_PROFILES_ACTIVE=virtual).
+// For each mode the Backend jar is started, then N closed-loop clients hit the read endpoints for a fixed duration,
+// and throughput / p50 / p99 are written as CSV.
+//
+//   cd Backend && mvn -Pjava21 -DskipTests package
+//   cd LoadTest && mvn package
+//   java -jar target/loadtest.jar throughput --jar ../Backend/target/Backend-0.0.1-SNAPSHOT.jar
+//
+// The Backend needs its usual DATASOURCE_* / FRONTEND_URL environment; it is passed through unchanged.
+// Admission control is switched off (ADMISSION_ENABLED=false): its adaptive concurrency limit would shed load at
+// 500 and 5000 clients and the runs would measure the limiter rather than the threading model.
+// With --url the benchmark targets an already running server instead (single mode, named "external"); its limiter
+// is whatever that server runs, and the 503s it answers are reported in the shed column, not as errors.
+public class ThroughputBenchmark {
+
+    private static final String CSV_HEADER = "mode,clients," + LatencyStats.CSV_COLUMNS;
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        List<String> rows = new ArrayList<>();
+        rows.add(CSV_HEADER);
+        System.out.println(CSV_HEADER);
+
+        if (options.url != null) {
+            runLevels("external", options.url, options, rows);
+        } else {
+            for (String mode : options.modes) {
+                Map<String, String> environment = new HashMap<>();
+                environment.put("ADMISSION_ENABLED", "false");
+                if ("virtual".equals(mode)) {
+                    environment.put("SPRING_PROFILES_ACTIVE", "virtual");
+                }
+                try (BackendProcess backend = BackendProcess.start(options.jar, options.port, options.jvmArgs, environment,
+                        mode, options.startupTimeout)) {
+                    runLevels(mode, backend.baseUrl(), options, rows);
+                }
+            }
+        }
+
+        Path out = Path.of(options.out);
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.write(out, rows);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private static void runLevels(String mode, String baseUrl, Options options, List<String> rows) throws Exception {
+        for (int clients : options.clients) {
+            // Warm-up run at the same concurrency so JIT, pools and caches are settled; results discarded
+            runLevel(baseUrl, options.paths, clients, options.warmup);
+            LatencyStats stats = runLevel(baseUrl, options.paths, clients, options.duration);
+            String row = mode + "," + clients + "," + stats.toCsv();
+            rows.add(row);
+            System.out.println(row);
+        }
+    }
+
+    static LatencyStats runLevel(String baseUrl, List<String> paths, int clients, Duration duration) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        List<HttpRequest> requests = paths.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build())
+                .toList();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<LatencyRecorder> recorders = new ArrayList<>(clients);
+
+        long start = System.nanoTime();
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                int offset = i;
+                clientThreads.execute(() -> {
+                    int next = offset;
+                    while (running.get()) {
+                        HttpRequest request = requests.get(next++ % requests.size());
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            recorder.recordStatus(response.statusCode());
+                        } catch (IOException e) {
+                            recorder.recordError();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        recorder.record(System.nanoTime() - sent);
+                    }
+                });
+            }
+            Thread.sleep(duration);
+            running.set(false);
+        }
+        long elapsed = System.nanoTime() - start;
+        httpClient.close();
+
+        return LatencyRecorder.merge(recorders, elapsed);
+    }
+
+    static final class Options {
+        String jar;
+        String url;
+        int port = 18080;
+        List<String> modes = List.of("platform", "virtual");
+        int[] clients = {50, 500, 5000};
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(10);
+        Duration startupTimeout = Duration.ofSeconds(120);
+        List<String> paths = List.of("/api/products", "/api/categories", "/api/products/search?q=a");
+        List<String> jvmArgs = List.of("-Xmx1g");
+        String out = "results/throughput.csv";
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--jar" -> options.jar = value;
+                    case "--url" -> options.url = value;
+                    case "--port" -> options.port = Integer.parseInt(value);
+                    case "--modes" -> options.modes = List.of(value.split(","));
+                    case "--clients" -> options.clients = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                    case "--duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                    case "--warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                    case "--paths" -> options.paths = List.of(value.split(","));
+                    case "--jvm-args" -> options.jvmArgs = List.of(value.split(" "));
+                    case "--out" -> options.out = value;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+                i++;
+            }
+            if (options.jar == null && options.url == null) {
+                throw new IllegalArgumentException("Either --jar <Backend jar> or --url <running server> is required");
+            }
+            return options;
+        }
+    }
+}